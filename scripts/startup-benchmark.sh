@@ -0,0 +1,117 @@
+#!/bin/bash
+# Startup benchmark: time to first successful request (GET /api/health/live, measured from launch) and RSS
+# right after it, median over several runs.
+#
+# Local JVM (default): compares the plain fat jar (what Dockerfile runs) with the layout Dockerfile.fast-startup
+# builds: extracted jar + AppCDS archive, without and with Spring AOT. Needs Postgres as for a normal run.
+#   ./mvnw -Pfast-startup -DskipTests package && scripts/startup-benchmark.sh [-n runs]
+#
+# Images: runs each image with host networking; SPRING_DATASOURCE_* are passed through from the environment.
+#   docker build -t society-app-backend:jar . && docker build -f Dockerfile.fast-startup -t society-app-backend:fast .
+#   scripts/startup-benchmark.sh -n 10 --docker society-app-backend:jar society-app-backend:fast
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=5
+PORT=${PORT:-8097}
+DOCKER_IMAGES=()
+while [ $# -gt 0 ]; do
+  case "$1" in
+    -n) RUNS=$2; shift 2 ;;
+    --docker) shift; DOCKER_IMAGES=("$@"); break ;;
+    *) echo "usage: $0 [-n runs] [--docker image...]" >&2; exit 2 ;;
+  esac
+done
+
+WORK=target/startup-benchmark
+URL="http://localhost:$PORT/api/health/live"
+mkdir -p "$WORK"
+
+now_ms() { echo $(( $(date +%s%N) / 1000000 )); }
+
+# Poll until the endpoint answers 200; prints elapsed ms since $1, fails after 120 s.
+wait_first_request() {
+  local start=$1
+  for _ in $(seq 1 6000); do
+    if [ "$(curl -s -o /dev/null -w '%{http_code}' "$URL" || true)" = 200 ]; then
+      echo $(( $(now_ms) - start ))
+      return 0
+    fi
+    sleep 0.02
+  done
+  return 1
+}
+
+rss_mb() { awk '/^VmRSS/ { printf "%d", $2 / 1024 }'; }
+
+median() { sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'; }
+
+# Runs a local JVM command in directory $2, $RUNS times; appends "ttfr rss" lines to $WORK/<name>.txt.
+# The CDS archive only matches when the classpath is the same as in the training run, hence the directory.
+bench_local() {
+  local name=$1 dir=$2; shift 2
+  : > "$WORK/$name.txt"
+  for run in $(seq 1 "$RUNS"); do
+    local start; start=$(now_ms)
+    (cd "$dir" && exec "$@" --server.port="$PORT") > "$WORK/$name-$run.log" 2>&1 &
+    local pid=$!
+    local ttfr; ttfr=$(wait_first_request "$start") || { echo "$name: no response, see $WORK/$name-$run.log" >&2; kill "$pid"; exit 1; }
+    echo "$ttfr $(rss_mb < "/proc/$pid/status")" >> "$WORK/$name.txt"
+    kill "$pid"; wait "$pid" 2>/dev/null || true
+  done
+}
+
+bench_docker() {
+  local image=$1 name=${1//[:\/]/_}
+  : > "$WORK/$name.txt"
+  for run in $(seq 1 "$RUNS"); do
+    local start; start=$(now_ms)
+    local cid; cid=$(docker run -d --network host -e SERVER_PORT="$PORT" \
+        -e SPRING_DATASOURCE_URL -e SPRING_DATASOURCE_USERNAME -e SPRING_DATASOURCE_PASSWORD "$image")
+    local ttfr; ttfr=$(wait_first_request "$start") || { docker logs "$cid" >&2; docker rm -f "$cid" >/dev/null; exit 1; }
+    echo "$ttfr $(docker exec "$cid" cat /proc/1/status | rss_mb)" >> "$WORK/$name.txt"
+    docker rm -f "$cid" > /dev/null
+  done
+  echo "$name"
+}
+
+report() {
+  printf '%-32s %10s %10s %10s %12s\n' variant "ttfr p50" min max "rss p50 MB"
+  for name in "$@"; do
+    local f="$WORK/$name.txt"
+    printf '%-32s %8sms %8sms %8sms %12s\n' "$name" \
+        "$(cut -d' ' -f1 "$f" | median)" "$(cut -d' ' -f1 "$f" | sort -n | head -1)" \
+        "$(cut -d' ' -f1 "$f" | sort -n | tail -1)" "$(cut -d' ' -f2 "$f" | median)"
+  done
+}
+
+if [ ${#DOCKER_IMAGES[@]} -gt 0 ]; then
+  names=()
+  for image in "${DOCKER_IMAGES[@]}"; do names+=("$(bench_docker "$image")"); done
+  report "${names[@]}"
+  exit 0
+fi
+
+JAR=$(ls target/*.jar | grep -v -- '-plain.jar' | head -1)
+unzip -l "$JAR" | grep '__ApplicationContextInitializer' > /dev/null \
+  || { echo "$JAR has no AOT classes; build with ./mvnw -Pfast-startup -DskipTests package" >&2; exit 1; }
+
+# Same steps as Dockerfile.fast-startup
+rm -rf "$WORK/extracted" "$WORK/app"
+cp "$JAR" "$WORK/application.jar"
+java -Djarmode=tools -jar "$WORK/application.jar" extract --layers --destination "$WORK/extracted"
+mkdir -p "$WORK/app"
+for layer in dependencies spring-boot-loader snapshot-dependencies application; do
+  cp -r "$WORK/extracted/$layer/." "$WORK/app/"
+done
+(cd "$WORK/app" && java -Dspring.aot.enabled=true -XX:ArchiveClassesAtExit=application.jsa \
+    -Dspring.context.exit=onRefresh -jar application.jar --app.startup.training-run=true \
+    --spring.jpa.hibernate.ddl-auto=none --spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false \
+    > ../training.log 2>&1)
+[ -f "$WORK/app/application.jsa" ] || { echo "training run failed, see $WORK/training.log" >&2; exit 1; }
+
+bench_local fat-jar "$WORK" java -jar application.jar
+bench_local extracted-cds "$WORK/app" java -XX:SharedArchiveFile=application.jsa -jar application.jar
+bench_local extracted-cds-aot "$WORK/app" java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+    -jar application.jar
+report fat-jar extracted-cds extracted-cds-aot
@@ -0,0 +1,64 @@
+package com.scube.society_app_backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scube.society_app_backend.dto.LoginResponse;
+import com.scube.society_app_backend.dto.UserResponse;
+import com.scube.society_app_backend.entity.User;
+import com.scube.society_app_backend.service.AuthService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a User to the response DTO and serializing it, as done for /auth/me and every login/refresh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthResponseBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private User user;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setPhone("919876543210");
+        user.setName("Asha Patil");
+        accessToken = "x".repeat(200);
+        refreshToken = "f".repeat(64);
+    }
+
+    @Benchmark
+    public UserResponse toUserResponse() {
+        return AuthService.toUserResponse(user);
+    }
+
+    @Benchmark
+    public byte[] meResponseJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(AuthService.toUserResponse(user));
+    }
+
+    @Benchmark
+    public byte[] loginResponseJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                new LoginResponse(accessToken, refreshToken, 900, AuthService.toUserResponse(user)));
+    }
+}
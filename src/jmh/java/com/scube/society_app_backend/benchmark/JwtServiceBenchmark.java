@@ -0,0 +1,83 @@
+package com.scube.society_app_backend.benchmark;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work done on every login, refresh and authenticated request, per signing algorithm
+ * (asymmetric keys are ephemeral here, generated by JwtKeyRing).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    private JwtService jwtService;
+    private UUID userId;
+    private String accessToken;
+    private JwtService.ProfileClaims profile;
+    private String profileAccessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        AuthProperties properties = new AuthProperties();
+        properties.getJwt().setAlgorithm(algorithm);
+        jwtService = new JwtService(properties);
+        userId = UUID.randomUUID();
+        accessToken = jwtService.issueAccessToken(userId);
+        profile = new JwtService.ProfileClaims("919876543210", "Asha Patil", 1);
+        profileAccessToken = jwtService.issueAccessToken(userId, profile);
+        refreshToken = jwtService.createRefreshToken().rawToken();
+    }
+
+    @Benchmark
+    public String issueAccessToken() {
+        return jwtService.issueAccessToken(userId);
+    }
+
+    @Benchmark
+    public UUID validateAccessToken() {
+        return jwtService.validateAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public String issueAccessTokenWithProfile() {
+        return jwtService.issueAccessToken(userId, profile);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedAccessToken verifyAccessTokenWithProfile() {
+        return jwtService.verifyAccessToken(profileAccessToken);
+    }
+
+    @Benchmark
+    public JwtService.RefreshTokenData createRefreshToken() {
+        return jwtService.createRefreshToken();
+    }
+
+    @Benchmark
+    public byte[] hashRefreshToken() {
+        return JwtService.hashRefreshToken(refreshToken);
+    }
+}
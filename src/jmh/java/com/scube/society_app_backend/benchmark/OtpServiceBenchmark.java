@@ -0,0 +1,54 @@
+package com.scube.society_app_backend.benchmark;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.service.AuthMetrics;
+import com.scube.society_app_backend.service.OtpService;
+import com.scube.society_app_backend.service.OtpStore;
+import com.scube.society_app_backend.service.PhoneNormalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OtpServiceBenchmark {
+
+    private OtpService otpService;
+
+    @Setup
+    public void setUp() {
+        OtpStore noStore = new OtpStore() {
+            @Override
+            public void save(long phoneKey, String code, Instant expiresAt) {
+            }
+
+            @Override
+            public boolean consume(long phoneKey, String code, Instant now) {
+                return false;
+            }
+        };
+        AuthProperties properties = new AuthProperties();
+        otpService = new OtpService(properties, noStore, (phone, code, expiryMin) -> { },
+                new AuthMetrics(new SimpleMeterRegistry()), new PhoneNormalizer(properties));
+    }
+
+    @Benchmark
+    public String generateCode() {
+        return otpService.generateCode();
+    }
+}
@@ -0,0 +1,73 @@
+package com.scube.society_app_backend.benchmark;
+
+import com.scube.society_app_backend.service.TokenCrypto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refresh-token crypto: the original implementation (String.format hex, MessageDigest.getInstance and
+ * new SecureRandom per call) against {@link TokenCrypto}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenCryptoBenchmark {
+
+    private String rawToken;
+
+    @Setup
+    public void setUp() {
+        rawToken = TokenCrypto.toHex(TokenCrypto.randomBytes(32));
+    }
+
+    @Benchmark
+    public String hashLegacy() throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return legacyHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public String hashTokenCrypto() {
+        return TokenCrypto.toHex(TokenCrypto.sha256(rawToken));
+    }
+
+    @Benchmark
+    public String createLegacy() throws NoSuchAlgorithmException {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        String raw = legacyHex(bytes);
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return legacyHex(digest.digest(raw.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public String createTokenCrypto() {
+        String raw = TokenCrypto.toHex(TokenCrypto.randomBytes(32));
+        return TokenCrypto.toHex(TokenCrypto.sha256(raw));
+    }
+
+    private static String legacyHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
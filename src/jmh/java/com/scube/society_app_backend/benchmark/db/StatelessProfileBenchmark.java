@@ -0,0 +1,94 @@
+package com.scube.society_app_backend.benchmark.db;
+
+import com.scube.society_app_backend.SocietyAppBackendApplication;
+import com.scube.society_app_backend.entity.User;
+import com.scube.society_app_backend.repository.UserRepository;
+import com.scube.society_app_backend.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /auth/me answered from a DB lookup vs from profile claims in the access token, over HTTP against the app
+ * on a random port. The profile cache is off so the DB case really reads the DB; the token size cost of the
+ * claims is logged at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatelessProfileBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(StatelessProfileBenchmark.class);
+    private static final long BENCH_PHONE_KEY = 915500000016L;
+
+    @Param({"db", "claims"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+    private final HttpClient client = HttpClient.newHttpClient();
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SocietyAppBackendApplication.class)
+                .properties("server.port=0", "app.auth.profile-cache.max-entries=0", "logging.level.root=warn",
+                        "logging.level.com.scube.society_app_backend.benchmark=info")
+                .run();
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        JwtService jwtService = context.getBean(JwtService.class);
+        User user = userRepository.upsertByPhoneKey(BENCH_PHONE_KEY);
+        user.setName("Asha Patil");
+        userRepository.save(user);
+        String plain = jwtService.issueAccessToken(user.getId());
+        String withProfile = jwtService.issueAccessToken(user.getId(),
+                new JwtService.ProfileClaims(user.getPhone(), user.getName(), user.getProfileVersion()));
+        log.info("access token bytes: plain={} with-profile={} (+{})", plain.length(), withProfile.length(),
+                withProfile.length() - plain.length());
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/me"))
+                .header("Authorization", "Bearer " + ("claims".equals(profile) ? withProfile : plain))
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.getBean(JdbcTemplate.class).update("DELETE FROM users WHERE phone_key = ?", BENCH_PHONE_KEY);
+        context.close();
+    }
+
+    @Benchmark
+    public String me() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("/auth/me returned " + response.statusCode());
+        }
+        return response.body();
+    }
+}
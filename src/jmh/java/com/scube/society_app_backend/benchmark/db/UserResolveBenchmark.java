@@ -0,0 +1,95 @@
+package com.scube.society_app_backend.benchmark.db;
+
+import com.scube.society_app_backend.SocietyAppBackendApplication;
+import com.scube.society_app_backend.entity.User;
+import com.scube.society_app_backend.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the user on login: find-then-insert (two round trips) vs a single upsert, for new and returning
+ * phones. Boots the application without a web server against the configured database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserResolveBenchmark {
+
+    /** Phone keys 999xxxxxxxxxxxx (no such country code) so cleanup cannot touch real users. */
+    private static final long BENCH_KEY_BASE = 999_000_000_000_000L;
+    private static final long BENCH_KEY_RANGE = 1_000_000_000_000L;
+
+    @Param({"new", "returning"})
+    public String phone;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
+    private long returningPhone;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SocietyAppBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=warn")
+                .run();
+        userRepository = context.getBean(UserRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        returningPhone = benchPhoneKey();
+        userRepository.upsertByPhoneKey(returningPhone);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.getBean(JdbcTemplate.class).update("DELETE FROM users WHERE phone_key BETWEEN ? AND ?",
+                BENCH_KEY_BASE, BENCH_KEY_BASE + BENCH_KEY_RANGE);
+        context.close();
+    }
+
+    @Benchmark
+    public User findThenInsert() {
+        long phoneKey = nextPhoneKey();
+        return transactionTemplate.execute(status -> userRepository.findByPhoneKey(phoneKey).orElseGet(() -> {
+            User user = new User();
+            user.setPhone(Long.toString(phoneKey));
+            user.setPhoneKey(phoneKey);
+            user.setName("");
+            return userRepository.save(user);
+        }));
+    }
+
+    @Benchmark
+    public User upsert() {
+        long phoneKey = nextPhoneKey();
+        return transactionTemplate.execute(status -> userRepository.upsertByPhoneKey(phoneKey));
+    }
+
+    private long nextPhoneKey() {
+        return "new".equals(phone) ? benchPhoneKey() : returningPhone;
+    }
+
+    private static long benchPhoneKey() {
+        return BENCH_KEY_BASE + ThreadLocalRandom.current().nextLong(BENCH_KEY_RANGE);
+    }
+}
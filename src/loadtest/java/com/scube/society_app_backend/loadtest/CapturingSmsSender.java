@@ -0,0 +1,31 @@
+package com.scube.society_app_backend.loadtest;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.service.DefaultSmsSender;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Stands in for the 2Factor provider when the app runs in-process: codes go to the {@link SimulatedSmsProvider}
+ * instead of being sent. It replaces the defaultSmsSender bean, so OTPs still go through AsyncSmsSender's queue,
+ * workers and concurrency cap.
+ */
+public class CapturingSmsSender extends DefaultSmsSender {
+
+    private final SimulatedSmsProvider provider;
+
+    CapturingSmsSender(AuthProperties authProperties, RestTemplate restTemplate, SimulatedSmsProvider provider) {
+        super(authProperties, restTemplate);
+        this.provider = provider;
+    }
+
+    @Override
+    public void sendOtp(String phone, String code, int expiryMin) {
+        try {
+            provider.send(phone, code);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    SimulatedSmsProvider provider() { return provider; }
+}
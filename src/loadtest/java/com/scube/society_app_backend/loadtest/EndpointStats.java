@@ -0,0 +1,56 @@
+package com.scube.society_app_backend.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Latency histogram (microseconds) and response status counts for one endpoint; safe for concurrent recording. */
+final class EndpointStats {
+
+    /** Status recorded when no response arrived (connect error, timeout). */
+    static final int NO_RESPONSE = 0;
+
+    private final Recorder recorder = new Recorder(3);
+    private final ConcurrentHashMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    void record(long startNanos, int status) {
+        recorder.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos)));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /** Forget everything recorded so far (end of warmup). */
+    void reset() {
+        recorder.getIntervalHistogram();
+        statuses.clear();
+    }
+
+    Summary summarize(double seconds) {
+        Histogram h = recorder.getIntervalHistogram();
+        Map<String, Long> byStatus = new TreeMap<>();
+        long errors = 0;
+        for (Map.Entry<Integer, LongAdder> e : statuses.entrySet()) {
+            long n = e.getValue().sum();
+            byStatus.put(e.getKey() == NO_RESPONSE ? "none" : e.getKey().toString(), n);
+            if (e.getKey() == NO_RESPONSE || e.getKey() >= 400) {
+                errors += n;
+            }
+        }
+        long count = h.getTotalCount();
+        return new Summary(count, errors, seconds > 0 ? Math.round(count * 100 / seconds) / 100.0 : 0, byStatus,
+                new Latency(ms(h.getMean()), ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+                        ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue())));
+    }
+
+    private static double ms(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+
+    record Summary(long count, long errors, double throughputPerSec, Map<String, Long> statuses, Latency latencyMs) {}
+
+    record Latency(double mean, double p50, double p90, double p99, double p999, double max) {}
+}
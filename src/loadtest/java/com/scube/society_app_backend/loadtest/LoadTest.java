@@ -0,0 +1,314 @@
+package com.scube.society_app_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.scube.society_app_backend.SocietyAppBackendApplication;
+import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.config.RestTemplateConfig;
+import com.scube.society_app_backend.service.DefaultSmsSender;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays the resident sign-in journey against the app: POST /auth/otp/request, wait for the code
+ * ({@link SimulatedSmsProvider}), POST /auth/login, then session-requests calls with think time
+ * in between, every refresh-every'th one a POST /auth/refresh (rotating both tokens) and the rest GET /auth/me.
+ * <p>
+ * Open model: journeys start at Poisson arrivals whether or not earlier ones have finished, and the first request
+ * of a journey is timed from its scheduled arrival, so generator lag counts as latency instead of hiding it.
+ * Latencies go into one HdrHistogram per endpoint (plus sms_delivery, OTP response to code in hand); everything
+ * before warmup-sec is discarded. The JSON report (loadtest.report) is meant to be diffed across commits.
+ * <p>
+ * By default the app is booted in-process with its normal configuration (database, env vars; extra Spring args
+ * after the class name), except for a random port and per-IP rate limits lifted, since every journey comes from
+ * one address. With loadtest.base-url the journeys go to an instance running elsewhere (a production-like
+ * deployment, with its own JVM and pools). Start it with RATE_LIMIT_OTP_PER_IP / RATE_LIMIT_LOGIN_PER_IP raised,
+ * app.auth.sms.two-factor-base-url=http://{this host}:{loadtest.sms-stub-port} and any TWO_FACTOR_API_KEY, so its
+ * SMS sends reach the {@link SmsProviderStub} this process runs.
+ * Usage: ./mvnw -Ploadtest -DskipTests verify [-Dloadtest.rate=50] [-Dloadtest.duration-sec=120]
+ *        [-Dloadtest.base-url=http://app-host:8080]
+ */
+public final class LoadTest {
+
+    static final String OTP_REQUEST = "otp_request";
+    static final String SMS_DELIVERY = "sms_delivery";
+    static final String LOGIN = "login";
+    static final String ME = "me";
+    static final String REFRESH = "refresh";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration CODE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final SimulatedSmsProvider sms;
+    private final URI baseUri;
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper json = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final long phoneBase = ThreadLocalRandom.current().nextLong(1_000_000_000L);
+    private final AtomicLong phoneSeq = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    LoadTest(LoadTestOptions options, SimulatedSmsProvider sms, URI baseUri) {
+        this.options = options;
+        this.sms = sms;
+        this.baseUri = baseUri;
+        for (String endpoint : new String[] {OTP_REQUEST, SMS_DELIVERY, LOGIN, ME, REFRESH}) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        if (!options.baseUrl().isEmpty()) {
+            SimulatedSmsProvider sms = new SimulatedSmsProvider(options.smsLatencyMs(), options.smsJitterMs());
+            try (SmsProviderStub stub = new SmsProviderStub(options.smsStubPort(), sms)) {
+                System.out.printf("driving %s, SMS provider stub on port %d%n", options.baseUrl(), stub.port());
+                finish(options, new LoadTest(options, sms, URI.create(options.baseUrl())).run());
+            }
+            return;
+        }
+        // System properties outrank application.yaml; env and command line can still override
+        System.setProperty("server.port", "0");
+        System.setProperty("spring.main.allow-bean-definition-overriding", "true");
+        System.setProperty("app.auth.rate-limit.otp-per-ip", Integer.toString(Integer.MAX_VALUE));
+        System.setProperty("app.auth.rate-limit.login-per-ip", Integer.toString(Integer.MAX_VALUE));
+
+        ConfigurableApplicationContext app =
+                new SpringApplicationBuilder(SocietyAppBackendApplication.class, SmsCapture.class).run(args);
+        try {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            SimulatedSmsProvider sms = app.getBean(CapturingSmsSender.class).provider();
+            finish(options, new LoadTest(options, sms, URI.create("http://localhost:" + port)).run());
+        } finally {
+            app.close();
+        }
+    }
+
+    private static void finish(LoadTestOptions options, Report report) throws IOException {
+        print(report);
+        reportWriter().writeValue(new File(options.report()), report);
+        System.out.printf("report written to %s%n", options.report());
+    }
+
+    Report run() throws InterruptedException {
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        long warmupEnd = start + TimeUnit.SECONDS.toNanos(options.warmupSec());
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(options.durationSec());
+        long measureStart = start;
+        boolean warm = options.warmupSec() <= 0;
+        long next = start;
+        try (ExecutorService journeys = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (next < end) {
+                long waitNanos = next - System.nanoTime();
+                if (waitNanos > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+                if (!warm && next >= warmupEnd) {
+                    stats.values().forEach(EndpointStats::reset);
+                    measureStart = System.nanoTime();
+                    warm = true;
+                }
+                if (inFlight.get() >= options.maxInFlight()) {
+                    dropped.increment();
+                } else {
+                    inFlight.incrementAndGet();
+                    started.increment();
+                    long scheduledAt = next;
+                    journeys.execute(() -> journey(scheduledAt));
+                }
+                next += interArrivalNanos();
+            }
+            // close() waits for the journeys still running
+        }
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+        Map<String, EndpointStats.Summary> endpoints = new LinkedHashMap<>();
+        stats.forEach((endpoint, s) -> endpoints.put(endpoint, s.summarize(seconds)));
+        return new Report(startedAt, commit(), options, Math.round(seconds * 10) / 10.0,
+                new Journeys(started.sum(), completed.sum(), failed.sum(), dropped.sum(), sms.getSent()), endpoints);
+    }
+
+    private void journey(long scheduledAt) {
+        String phone = nextPhone();
+        try {
+            HttpResponse<String> otp = send(OTP_REQUEST, post("/auth/otp/request", Map.of("phone", phone)), scheduledAt);
+            if (!ok(otp)) {
+                return;
+            }
+            long requestedAt = System.nanoTime();
+            String code;
+            try {
+                code = sms.awaitCode(phone, CODE_TIMEOUT);
+                stats.get(SMS_DELIVERY).record(requestedAt, 200);
+            } catch (TimeoutException e) {
+                stats.get(SMS_DELIVERY).record(requestedAt, EndpointStats.NO_RESPONSE);
+                failed.increment();
+                return;
+            }
+            HttpResponse<String> login = send(LOGIN, post("/auth/login", Map.of("phone", phone, "otp", code)), System.nanoTime());
+            if (!ok(login)) {
+                return;
+            }
+            JsonNode tokens = json.readTree(login.body());
+            String accessToken = tokens.get("access_token").asText();
+            String refreshToken = tokens.get("refresh_token").asText();
+            for (int i = 1; i <= options.sessionRequests(); i++) {
+                Thread.sleep(options.thinkMs());
+                if (options.refreshEvery() > 0 && i % options.refreshEvery() == 0) {
+                    HttpResponse<String> refresh = send(REFRESH,
+                            post("/auth/refresh", Map.of("refresh_token", refreshToken)), System.nanoTime());
+                    if (!ok(refresh)) {
+                        return;
+                    }
+                    tokens = json.readTree(refresh.body());
+                    accessToken = tokens.get("access_token").asText();
+                    refreshToken = tokens.get("refresh_token").asText();
+                } else {
+                    HttpRequest me = request("/auth/me").header("Authorization", "Bearer " + accessToken).GET().build();
+                    if (!ok(send(ME, me, System.nanoTime()))) {
+                        return;
+                    }
+                }
+            }
+            completed.increment();
+        } catch (IOException e) {
+            failed.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.increment();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /** Sends and records latency from startNanos; null if no response arrived. */
+    private HttpResponse<String> send(String endpoint, HttpRequest request, long startNanos) throws InterruptedException {
+        EndpointStats s = stats.get(endpoint);
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            s.record(startNanos, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            s.record(startNanos, EndpointStats.NO_RESPONSE);
+            return null;
+        }
+    }
+
+    /** True for 200; anything else ends the journey as failed. */
+    private boolean ok(HttpResponse<String> response) {
+        if (response != null && response.statusCode() == 200) {
+            return true;
+        }
+        failed.increment();
+        return false;
+    }
+
+    private HttpRequest post(String path, Map<String, String> body) throws IOException {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    /** A fresh Indian mobile number per journey, in canonical form (what the SMS sender receives). */
+    private String nextPhone() {
+        return String.format("917%09d", (phoneBase + phoneSeq.getAndIncrement()) % 1_000_000_000L);
+    }
+
+    private long interArrivalNanos() {
+        return (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) / options.rate() * 1e9);
+    }
+
+    private static String commit() {
+        String commit = System.getProperty("loadtest.commit");
+        if (commit != null && !commit.isBlank()) {
+            return commit;
+        }
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String out = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return git.waitFor() == 0 ? out : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static ObjectMapper reportWriter() {
+        return new ObjectMapper()
+                .findAndRegisterModules()
+                .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    private static void print(Report report) {
+        Journeys j = report.journeys();
+        System.out.printf("journeys: started=%d completed=%d failed=%d dropped=%d, measured %.1f s%n",
+                j.started(), j.completed(), j.failed(), j.dropped(), report.measuredSec());
+        System.out.printf("%-14s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "rps", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        report.endpoints().forEach((endpoint, s) -> System.out.printf("%-14s %8d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, s.count(), s.errors(), s.throughputPerSec(), s.latencyMs().p50(), s.latencyMs().p90(),
+                s.latencyMs().p99(), s.latencyMs().p999(), s.latencyMs().max()));
+    }
+
+    /** Journey counts cover the whole run including warmup; endpoint stats only the measured part. */
+    record Report(Instant startedAt, String commit, LoadTestOptions options, double measuredSec, Journeys journeys,
+                  Map<String, EndpointStats.Summary> endpoints) {}
+
+    record Journeys(long started, long completed, long failed, long dropped, long smsSent) {}
+
+    /** Swaps in the capturing sender; an extra source rather than a scanned component, so tests never see it. */
+    static class SmsCapture {
+
+        @Bean
+        DefaultSmsSender defaultSmsSender(AuthProperties authProperties,
+                                          @Qualifier(RestTemplateConfig.SMS_REST_TEMPLATE) RestTemplate restTemplate) {
+            LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+            return new CapturingSmsSender(authProperties, restTemplate,
+                    new SimulatedSmsProvider(options.smsLatencyMs(), options.smsJitterMs()));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.scube.society_app_backend.loadtest;
+
+/**
+ * Load test knobs, read from system properties (loadtest.*; the loadtest Maven profile passes them through).
+ * Journeys arrive as a Poisson process at {@code rate} per second, independent of how fast earlier ones finish.
+ * A blank {@code baseUrl} boots the app in-process; otherwise the journeys go to that running instance and codes
+ * arrive through an {@link SmsProviderStub} on {@code smsStubPort}.
+ */
+record LoadTestOptions(
+        double rate,
+        int durationSec,
+        int warmupSec,
+        int sessionRequests,
+        int refreshEvery,
+        long thinkMs,
+        long smsLatencyMs,
+        long smsJitterMs,
+        int maxInFlight,
+        String report,
+        String baseUrl,
+        int smsStubPort) {
+
+    static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions(
+                Double.parseDouble(System.getProperty("loadtest.rate", "20")),
+                Integer.getInteger("loadtest.duration-sec", 60),
+                Integer.getInteger("loadtest.warmup-sec", 10),
+                Integer.getInteger("loadtest.session-requests", 10),
+                Integer.getInteger("loadtest.refresh-every", 5),
+                Long.getLong("loadtest.think-ms", 1000),
+                Long.getLong("loadtest.sms-latency-ms", 200),
+                Long.getLong("loadtest.sms-jitter-ms", 300),
+                Integer.getInteger("loadtest.max-in-flight", 5000),
+                System.getProperty("loadtest.report", "target/loadtest-report.json"),
+                System.getProperty("loadtest.base-url", "").trim(),
+                Integer.getInteger("loadtest.sms-stub-port", 18099));
+    }
+}
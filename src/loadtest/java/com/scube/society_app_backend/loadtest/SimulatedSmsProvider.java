@@ -0,0 +1,67 @@
+package com.scube.society_app_backend.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The SMS provider as a load test sees it: a send takes the injected provider latency (fixed plus uniform
+ * jitter), then hands the code to the journey waiting for that phone. Fed in-process by {@link CapturingSmsSender}
+ * or over HTTP by {@link SmsProviderStub}.
+ */
+final class SimulatedSmsProvider {
+
+    private final ConcurrentHashMap<String, CompletableFuture<String>> codes = new ConcurrentHashMap<>();
+    private final long latencyMs;
+    private final long jitterMs;
+    private final LongAdder sent = new LongAdder();
+
+    SimulatedSmsProvider(long latencyMs, long jitterMs) {
+        this.latencyMs = Math.max(0, latencyMs);
+        this.jitterMs = Math.max(0, jitterMs);
+    }
+
+    /** Blocks for the provider latency, then delivers. */
+    void send(String phone, String code) throws InterruptedException {
+        long delayMs = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (delayMs > 0) {
+            Thread.sleep(delayMs);
+        }
+        sent.increment();
+        CompletableFuture<String> pending = pending(phone);
+        if (!pending.complete(code)) {
+            // The journey gave up waiting and left its cancelled future behind; drop this late code with it
+            codes.remove(phone, pending);
+        }
+    }
+
+    /** Waits for the code sent to phone (canonical digits) and forgets it. */
+    String awaitCode(String phone, Duration timeout) throws InterruptedException, TimeoutException {
+        CompletableFuture<String> pending = pending(phone);
+        try {
+            String code = pending.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            codes.remove(phone, pending);
+            return code;
+        } catch (TimeoutException | InterruptedException e) {
+            // Left in place, cancelled, so a late send clears it instead of adding an entry nobody awaits
+            if (!pending.cancel(false)) {
+                codes.remove(phone, pending);
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            codes.remove(phone, pending);
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    long getSent() { return sent.sum(); }
+
+    private CompletableFuture<String> pending(String phone) {
+        return codes.computeIfAbsent(phone, p -> new CompletableFuture<>());
+    }
+}
@@ -0,0 +1,63 @@
+package com.scube.society_app_backend.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * The 2Factor API as seen by an app under test running elsewhere: POST {base}/{apiKey}/SMS/{phone}/{code}[/template]
+ * goes to the {@link SimulatedSmsProvider} and answers 200 after its latency. Point the target's
+ * app.auth.sms.two-factor-base-url here and give it any two-factor-api-key.
+ */
+final class SmsProviderStub implements AutoCloseable {
+
+    private static final byte[] SUCCESS = "{\"Status\":\"Success\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+
+    SmsProviderStub(int port, SimulatedSmsProvider provider) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> handle(exchange, provider));
+        server.start();
+    }
+
+    int port() { return server.getAddress().getPort(); }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void handle(HttpExchange exchange, SimulatedSmsProvider provider) throws IOException {
+        try (exchange) {
+            String[] segments = exchange.getRequestURI().getPath().split("/");
+            int sms = indexOf(segments, "SMS");
+            if (sms < 0 || sms + 2 >= segments.length) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            try {
+                provider.send(segments[sms + 1], segments[sms + 2]);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, SUCCESS.length);
+            exchange.getResponseBody().write(SUCCESS);
+        }
+    }
+
+    private static int indexOf(String[] segments, String segment) {
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i].equals(segment)) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.scube.society_app_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Admin endpoints (/admin/**). They are disabled until api-key is set; callers send it as X-Admin-Key. */
+@Configuration
+@ConfigurationProperties(prefix = "app.admin")
+public class AdminProperties {
+
+    private String apiKey = "";
+    /** Rows per upsert statement in a resident import. */
+    private int importBatchSize = 1_000;
+    /** Per-row errors listed in the import report; further errors are only counted. */
+    private int importMaxReportedErrors = 100;
+    /** A resident import logs its progress every this many rows. */
+    private int importProgressLogRows = 100_000;
+
+    public String getApiKey() { return apiKey; }
+    public void setApiKey(String apiKey) { this.apiKey = apiKey; }
+    public int getImportBatchSize() { return importBatchSize; }
+    public void setImportBatchSize(int importBatchSize) { this.importBatchSize = importBatchSize; }
+    public int getImportMaxReportedErrors() { return importMaxReportedErrors; }
+    public void setImportMaxReportedErrors(int importMaxReportedErrors) { this.importMaxReportedErrors = importMaxReportedErrors; }
+    public int getImportProgressLogRows() { return importProgressLogRows; }
+    public void setImportProgressLogRows(int importProgressLogRows) { this.importProgressLogRows = importProgressLogRows; }
+}
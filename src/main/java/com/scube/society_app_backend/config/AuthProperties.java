@@ -3,6 +3,9 @@ package com.scube.society_app_backend.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "app.auth")
 public class AuthProperties {
@@ -10,44 +13,366 @@ public class AuthProperties {
     private final Jwt jwt = new Jwt();
     private final Otp otp = new Otp();
     private final Sms sms = new Sms();
+    private final RateLimit rateLimit = new RateLimit();
+    private final Retention retention = new Retention();
+    private final Partitions partitions = new Partitions();
+    private final Readiness readiness = new Readiness();
+    private final ProfileCache profileCache = new ProfileCache();
+    private final Revocation revocation = new Revocation();
+    private final Phone phone = new Phone();
+    private final Events events = new Events();
+    private final RefreshFilter refreshFilter = new RefreshFilter();
 
     public Jwt getJwt() { return jwt; }
     public Otp getOtp() { return otp; }
     public Sms getSms() { return sms; }
+    public RateLimit getRateLimit() { return rateLimit; }
+    public Retention getRetention() { return retention; }
+    public Partitions getPartitions() { return partitions; }
+    public Readiness getReadiness() { return readiness; }
+    public ProfileCache getProfileCache() { return profileCache; }
+    public Revocation getRevocation() { return revocation; }
+    public Phone getPhone() { return phone; }
+    public Events getEvents() { return events; }
+    public RefreshFilter getRefreshFilter() { return refreshFilter; }
 
     public static class Jwt {
         private String secret = "change-me-in-production-min-32-chars";
+        /** Keys the MAC on refresh tokens' issue time; blank = derived from secret. Changing it signs everyone out. */
+        private String refreshTokenMacSecret = "";
         private int accessTtlMin = 15;
         private int refreshTtlDays = 7;
+        /** Max verified access tokens kept in memory by the auth filter; 0 disables the cache. */
+        private int tokenCacheMaxEntries = 10_000;
+        /** How often expired tokens are swept from that cache. */
+        private long tokenCacheSweepIntervalMs = 30_000;
+        /** Embed phone, name and profile version in access tokens so /auth/me needs no DB read. */
+        private boolean profileClaims = false;
+        /** HS256 (shared secret), ES256 or EdDSA (key pairs from {@link #keys}, public halves served as JWKS). */
+        private String algorithm = "HS256";
+        /** kid of the key that signs new tokens; every key in {@link #keys} verifies. */
+        private String activeKid;
+        private List<JwtKey> keys = new ArrayList<>();
 
         public String getSecret() { return secret; }
         public void setSecret(String secret) { this.secret = secret; }
+        public String getRefreshTokenMacSecret() { return refreshTokenMacSecret; }
+        public void setRefreshTokenMacSecret(String refreshTokenMacSecret) { this.refreshTokenMacSecret = refreshTokenMacSecret; }
         public int getAccessTtlMin() { return accessTtlMin; }
         public void setAccessTtlMin(int accessTtlMin) { this.accessTtlMin = accessTtlMin; }
         public int getRefreshTtlDays() { return refreshTtlDays; }
         public void setRefreshTtlDays(int refreshTtlDays) { this.refreshTtlDays = refreshTtlDays; }
+        public int getTokenCacheMaxEntries() { return tokenCacheMaxEntries; }
+        public void setTokenCacheMaxEntries(int tokenCacheMaxEntries) { this.tokenCacheMaxEntries = tokenCacheMaxEntries; }
+        public long getTokenCacheSweepIntervalMs() { return tokenCacheSweepIntervalMs; }
+        public void setTokenCacheSweepIntervalMs(long tokenCacheSweepIntervalMs) { this.tokenCacheSweepIntervalMs = tokenCacheSweepIntervalMs; }
+        public boolean isProfileClaims() { return profileClaims; }
+        public void setProfileClaims(boolean profileClaims) { this.profileClaims = profileClaims; }
+        public String getAlgorithm() { return algorithm; }
+        public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+        public String getActiveKid() { return activeKid; }
+        public void setActiveKid(String activeKid) { this.activeKid = activeKid; }
+        public List<JwtKey> getKeys() { return keys; }
+        public void setKeys(List<JwtKey> keys) { this.keys = keys; }
+    }
+
+    /** One signing key pair (PEM or bare base64 DER). private-key is only needed for the active kid. */
+    public static class JwtKey {
+        private String kid;
+        private String privateKey;
+        private String publicKey;
+
+        public String getKid() { return kid; }
+        public void setKid(String kid) { this.kid = kid; }
+        public String getPrivateKey() { return privateKey; }
+        public void setPrivateKey(String privateKey) { this.privateKey = privateKey; }
+        public String getPublicKey() { return publicKey; }
+        public void setPublicKey(String publicKey) { this.publicKey = publicKey; }
     }
 
     public static class Otp {
         private int length = 6;
         private int expiryMin = 10;
+        /** Where pending OTPs live: "jpa" (otp_verifications, default) or "memory" (in-process, DB write-behind). */
+        private String store = "jpa";
+        private int maxPendingPerPhone = 5;
+        private int auditBatchSize = 200;
+        private int auditQueueCapacity = 10_000;
+        private long auditFlushIntervalMs = 500;
+        private long sweepIntervalMs = 60_000;
 
         public int getLength() { return length; }
         public void setLength(int length) { this.length = length; }
         public int getExpiryMin() { return expiryMin; }
         public void setExpiryMin(int expiryMin) { this.expiryMin = expiryMin; }
+        public String getStore() { return store; }
+        public void setStore(String store) { this.store = store; }
+        public int getMaxPendingPerPhone() { return maxPendingPerPhone; }
+        public void setMaxPendingPerPhone(int maxPendingPerPhone) { this.maxPendingPerPhone = maxPendingPerPhone; }
+        public int getAuditBatchSize() { return auditBatchSize; }
+        public void setAuditBatchSize(int auditBatchSize) { this.auditBatchSize = auditBatchSize; }
+        public int getAuditQueueCapacity() { return auditQueueCapacity; }
+        public void setAuditQueueCapacity(int auditQueueCapacity) { this.auditQueueCapacity = auditQueueCapacity; }
+        public long getAuditFlushIntervalMs() { return auditFlushIntervalMs; }
+        public void setAuditFlushIntervalMs(long auditFlushIntervalMs) { this.auditFlushIntervalMs = auditFlushIntervalMs; }
+        public long getSweepIntervalMs() { return sweepIntervalMs; }
+        public void setSweepIntervalMs(long sweepIntervalMs) { this.sweepIntervalMs = sweepIntervalMs; }
     }
 
     public static class Sms {
+        private String twoFactorBaseUrl = "https://2factor.in/API/V1";
         private String twoFactorApiKey = "";
         /** Optional: 2Factor approved template name (e.g. Suraksha). URL becomes .../SMS/{phone}/{otp}/{templateName} */
         private String twoFactorTemplateName = "";
+        /** Send from a background worker pool instead of the request thread. */
+        private boolean asyncEnabled = true;
+        private int queueCapacity = 1_000;
+        private int workers = 4;
+        private int workerBatchSize = 16;
+        /** What to do when the queue is full: caller-runs, drop or reject. */
+        private String queueFullPolicy = "caller-runs";
+        /** Max in-flight calls to the SMS provider across workers and caller-runs sends. */
+        private int providerMaxConcurrency = 8;
+        /** HTTP client for the provider (pooled, keep-alive). */
+        private int connectTimeoutMs = 2_000;
+        private int readTimeoutMs = 5_000;
+        private int maxConnections = 20;
+        private int keepAliveSec = 30;
+        /** Attempts per send including the first; retries also limited by retryBudgetRatio of sends. */
+        private int maxAttempts = 3;
+        private long retryBackoffMs = 200;
+        private long retryBackoffMaxMs = 2_000;
+        private double retryBudgetRatio = 0.2;
+        /** Consecutive failed sends before the circuit opens, and how long it stays open. */
+        private int breakerFailureThreshold = 5;
+        private long breakerOpenMs = 30_000;
 
+        public String getTwoFactorBaseUrl() { return twoFactorBaseUrl; }
+        public void setTwoFactorBaseUrl(String twoFactorBaseUrl) { this.twoFactorBaseUrl = twoFactorBaseUrl; }
         public String getTwoFactorApiKey() { return twoFactorApiKey; }
         public void setTwoFactorApiKey(String twoFactorApiKey) { this.twoFactorApiKey = twoFactorApiKey != null ? twoFactorApiKey : ""; }
         public String getTwoFactorTemplateName() { return twoFactorTemplateName; }
         public void setTwoFactorTemplateName(String twoFactorTemplateName) { this.twoFactorTemplateName = twoFactorTemplateName != null ? twoFactorTemplateName : ""; }
 
+        public boolean isAsyncEnabled() { return asyncEnabled; }
+        public void setAsyncEnabled(boolean asyncEnabled) { this.asyncEnabled = asyncEnabled; }
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+        public int getWorkers() { return workers; }
+        public void setWorkers(int workers) { this.workers = workers; }
+        public int getWorkerBatchSize() { return workerBatchSize; }
+        public void setWorkerBatchSize(int workerBatchSize) { this.workerBatchSize = workerBatchSize; }
+        public String getQueueFullPolicy() { return queueFullPolicy; }
+        public void setQueueFullPolicy(String queueFullPolicy) { this.queueFullPolicy = queueFullPolicy; }
+        public int getProviderMaxConcurrency() { return providerMaxConcurrency; }
+        public void setProviderMaxConcurrency(int providerMaxConcurrency) { this.providerMaxConcurrency = providerMaxConcurrency; }
+
+        public int getConnectTimeoutMs() { return connectTimeoutMs; }
+        public void setConnectTimeoutMs(int connectTimeoutMs) { this.connectTimeoutMs = connectTimeoutMs; }
+        public int getReadTimeoutMs() { return readTimeoutMs; }
+        public void setReadTimeoutMs(int readTimeoutMs) { this.readTimeoutMs = readTimeoutMs; }
+        public int getMaxConnections() { return maxConnections; }
+        public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+        public int getKeepAliveSec() { return keepAliveSec; }
+        public void setKeepAliveSec(int keepAliveSec) { this.keepAliveSec = keepAliveSec; }
+        public int getMaxAttempts() { return maxAttempts; }
+        public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+        public long getRetryBackoffMs() { return retryBackoffMs; }
+        public void setRetryBackoffMs(long retryBackoffMs) { this.retryBackoffMs = retryBackoffMs; }
+        public long getRetryBackoffMaxMs() { return retryBackoffMaxMs; }
+        public void setRetryBackoffMaxMs(long retryBackoffMaxMs) { this.retryBackoffMaxMs = retryBackoffMaxMs; }
+        public double getRetryBudgetRatio() { return retryBudgetRatio; }
+        public void setRetryBudgetRatio(double retryBudgetRatio) { this.retryBudgetRatio = retryBudgetRatio; }
+        public int getBreakerFailureThreshold() { return breakerFailureThreshold; }
+        public void setBreakerFailureThreshold(int breakerFailureThreshold) { this.breakerFailureThreshold = breakerFailureThreshold; }
+        public long getBreakerOpenMs() { return breakerOpenMs; }
+        public void setBreakerOpenMs(long breakerOpenMs) { this.breakerOpenMs = breakerOpenMs; }
+
         public boolean isTwoFactorConfigured() { return twoFactorApiKey != null && !twoFactorApiKey.isBlank(); }
     }
+
+    /** Token-bucket limits per {@code periodSec} for OTP requests and login attempts. */
+    public static class RateLimit {
+        private boolean enabled = true;
+        /** "memory" (in-process, default) or the name of a shared backend bean's condition. */
+        private String backend = "memory";
+        private long periodSec = 600;
+        private int otpPerPhone = 3;
+        private int otpPerIp = 20;
+        private int loginPerPhone = 5;
+        private int loginPerIp = 30;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public String getBackend() { return backend; }
+        public void setBackend(String backend) { this.backend = backend; }
+        public long getPeriodSec() { return periodSec; }
+        public void setPeriodSec(long periodSec) { this.periodSec = periodSec; }
+        public int getOtpPerPhone() { return otpPerPhone; }
+        public void setOtpPerPhone(int otpPerPhone) { this.otpPerPhone = otpPerPhone; }
+        public int getOtpPerIp() { return otpPerIp; }
+        public void setOtpPerIp(int otpPerIp) { this.otpPerIp = otpPerIp; }
+        public int getLoginPerPhone() { return loginPerPhone; }
+        public void setLoginPerPhone(int loginPerPhone) { this.loginPerPhone = loginPerPhone; }
+        public int getLoginPerIp() { return loginPerIp; }
+        public void setLoginPerIp(int loginPerIp) { this.loginPerIp = loginPerIp; }
+    }
+
+    /** Purge of expired / used / revoked OTP and refresh-token rows; windows count from expiry or use. */
+    public static class Retention {
+        private boolean enabled = true;
+        private String cron = "0 17 3 * * *";
+        private int otpRetentionDays = 7;
+        private int refreshTokenRetentionDays = 30;
+        private int batchSize = 5_000;
+        private int maxBatchesPerRun = 200;
+        /** auth_events is append-only: whole monthly partitions are dropped once older than this. */
+        private int authEventRetentionDays = 180;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public String getCron() { return cron; }
+        public void setCron(String cron) { this.cron = cron; }
+        public int getOtpRetentionDays() { return otpRetentionDays; }
+        public void setOtpRetentionDays(int otpRetentionDays) { this.otpRetentionDays = otpRetentionDays; }
+        public int getRefreshTokenRetentionDays() { return refreshTokenRetentionDays; }
+        public void setRefreshTokenRetentionDays(int refreshTokenRetentionDays) { this.refreshTokenRetentionDays = refreshTokenRetentionDays; }
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+        public int getMaxBatchesPerRun() { return maxBatchesPerRun; }
+        public void setMaxBatchesPerRun(int maxBatchesPerRun) { this.maxBatchesPerRun = maxBatchesPerRun; }
+        public int getAuthEventRetentionDays() { return authEventRetentionDays; }
+        public void setAuthEventRetentionDays(int authEventRetentionDays) { this.authEventRetentionDays = authEventRetentionDays; }
+    }
+
+    /** Monthly partitions of otp_verifications, refresh_tokens and auth_events; always maintained. */
+    public static class Partitions {
+        /** Months after the current one that get a partition in advance. */
+        private int monthsAhead = 2;
+        private long checkIntervalMs = 3_600_000;
+
+        public int getMonthsAhead() { return monthsAhead; }
+        public void setMonthsAhead(int monthsAhead) { this.monthsAhead = monthsAhead; }
+        public long getCheckIntervalMs() { return checkIntervalMs; }
+        public void setCheckIntervalMs(long checkIntervalMs) { this.checkIntervalMs = checkIntervalMs; }
+    }
+
+    public static class Readiness {
+        private long refreshIntervalMs = 2_000;
+        private int dbTimeoutSec = 2;
+        private long maxStalenessMs = 10_000;
+        private int poolMaxWaiting = 20;
+
+        public long getRefreshIntervalMs() { return refreshIntervalMs; }
+        public void setRefreshIntervalMs(long refreshIntervalMs) { this.refreshIntervalMs = refreshIntervalMs; }
+        public int getDbTimeoutSec() { return dbTimeoutSec; }
+        public void setDbTimeoutSec(int dbTimeoutSec) { this.dbTimeoutSec = dbTimeoutSec; }
+        public long getMaxStalenessMs() { return maxStalenessMs; }
+        public void setMaxStalenessMs(long maxStalenessMs) { this.maxStalenessMs = maxStalenessMs; }
+        public int getPoolMaxWaiting() { return poolMaxWaiting; }
+        public void setPoolMaxWaiting(int poolMaxWaiting) { this.poolMaxWaiting = poolMaxWaiting; }
+    }
+
+    public static class ProfileCache {
+        /** Max cached UserResponse entries for /auth/me; 0 disables the cache. */
+        private int maxEntries = 10_000;
+        private long ttlSec = 300;
+        /** Cross-node invalidation: "none" (single node, TTL only) or "pg-notify" (Postgres LISTEN/NOTIFY). */
+        private String invalidation = "none";
+        private String channel = "user_profile_invalidate";
+        private long sweepIntervalMs = 60_000;
+
+        public int getMaxEntries() { return maxEntries; }
+        public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+        public long getTtlSec() { return ttlSec; }
+        public void setTtlSec(long ttlSec) { this.ttlSec = ttlSec; }
+        public String getInvalidation() { return invalidation; }
+        public void setInvalidation(String invalidation) { this.invalidation = invalidation; }
+        public String getChannel() { return channel; }
+        public void setChannel(String channel) { this.channel = channel; }
+        public long getSweepIntervalMs() { return sweepIntervalMs; }
+        public void setSweepIntervalMs(long sweepIntervalMs) { this.sweepIntervalMs = sweepIntervalMs; }
+    }
+
+    public static class Revocation {
+        /** How often each node pulls revocations made on other nodes. */
+        private long syncIntervalMs = 5_000;
+        /** Re-read window behind the last sync, covering commit lag and clock skew between nodes. */
+        private long syncOverlapMs = 30_000;
+
+        public long getSyncIntervalMs() { return syncIntervalMs; }
+        public void setSyncIntervalMs(long syncIntervalMs) { this.syncIntervalMs = syncIntervalMs; }
+        public long getSyncOverlapMs() { return syncOverlapMs; }
+        public void setSyncOverlapMs(long syncOverlapMs) { this.syncOverlapMs = syncOverlapMs; }
+    }
+
+    public static class Phone {
+        /** Country calling code for numbers entered without one (e.g. 98765 43210 -> 919876543210). */
+        private int defaultCountryCode = 91;
+        /** Digits in a national number of the default country, without trunk prefix 0. */
+        private int nationalNumberLength = 10;
+
+        public int getDefaultCountryCode() { return defaultCountryCode; }
+        public void setDefaultCountryCode(int defaultCountryCode) { this.defaultCountryCode = defaultCountryCode; }
+        public int getNationalNumberLength() { return nationalNumberLength; }
+        public void setNationalNumberLength(int nationalNumberLength) { this.nationalNumberLength = nationalNumberLength; }
+    }
+
+    public static class Events {
+        private boolean enabled = true;
+        /** Ring buffer slots, rounded up to a power of two. */
+        private int bufferCapacity = 65_536;
+        /** When the buffer is full: "drop" the new event, or "block" the caller up to block-timeout-ms, then drop. */
+        private String fullPolicy = "drop";
+        private long blockTimeoutMs = 5;
+        private int batchSize = 500;
+        /** How long the writer sleeps when the buffer is empty; events wait at most about this long. */
+        private long flushIntervalMs = 200;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getBufferCapacity() { return bufferCapacity; }
+        public void setBufferCapacity(int bufferCapacity) { this.bufferCapacity = bufferCapacity; }
+        public String getFullPolicy() { return fullPolicy; }
+        public void setFullPolicy(String fullPolicy) { this.fullPolicy = fullPolicy; }
+        public long getBlockTimeoutMs() { return blockTimeoutMs; }
+        public void setBlockTimeoutMs(long blockTimeoutMs) { this.blockTimeoutMs = blockTimeoutMs; }
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+        public long getFlushIntervalMs() { return flushIntervalMs; }
+        public void setFlushIntervalMs(long flushIntervalMs) { this.flushIntervalMs = flushIntervalMs; }
+    }
+
+    public static class RefreshFilter {
+        private boolean enabled = true;
+        /** Sizing floor; each rebuild sizes for twice the live tokens it loaded, if that is more. */
+        private long expectedTokens = 1_000_000;
+        private double falsePositiveRate = 0.01;
+        /** How often each node adds refresh tokens issued on any node since its last sync. */
+        private long syncIntervalMs = 5_000;
+        /** Tokens issued within this window before a sync are not trusted to be in it (commit lag, clock skew). */
+        private long syncOverlapMs = 30_000;
+        /** Full rebuild from live tokens, dropping revoked and expired ones. */
+        private long rebuildIntervalMs = 600_000;
+        /**
+         * ISO-8601 instant by which no node issues legacy (64-hex) refresh tokens any more, i.e. the end of the
+         * rollout of the release that added the issue-time prefix. Blank = one day after the V8 migration ran.
+         */
+        private String legacyIssuedUntil = "";
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public long getExpectedTokens() { return expectedTokens; }
+        public void setExpectedTokens(long expectedTokens) { this.expectedTokens = expectedTokens; }
+        public double getFalsePositiveRate() { return falsePositiveRate; }
+        public void setFalsePositiveRate(double falsePositiveRate) { this.falsePositiveRate = falsePositiveRate; }
+        public long getSyncIntervalMs() { return syncIntervalMs; }
+        public void setSyncIntervalMs(long syncIntervalMs) { this.syncIntervalMs = syncIntervalMs; }
+        public long getSyncOverlapMs() { return syncOverlapMs; }
+        public void setSyncOverlapMs(long syncOverlapMs) { this.syncOverlapMs = syncOverlapMs; }
+        public long getRebuildIntervalMs() { return rebuildIntervalMs; }
+        public void setRebuildIntervalMs(long rebuildIntervalMs) { this.rebuildIntervalMs = rebuildIntervalMs; }
+        public String getLegacyIssuedUntil() { return legacyIssuedUntil; }
+        public void setLegacyIssuedUntil(String legacyIssuedUntil) { this.legacyIssuedUntil = legacyIssuedUntil; }
+    }
 }
@@ -0,0 +1,30 @@
+package com.scube.society_app_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FlywayConfig.class);
+
+    /**
+     * Migrate at startup as usual, except in the AppCDS training run of Dockerfile.fast-startup: that run only
+     * starts the context (spring.context.exit=onRefresh) and has no database. spring.flyway.enabled cannot
+     * be used there because an AOT build has already decided the Flyway beans exist.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${app.startup.training-run:false}") boolean trainingRun) {
+        return flyway -> {
+            if (trainingRun) {
+                log.info("[startup] training run, skipping database migrations");
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+}
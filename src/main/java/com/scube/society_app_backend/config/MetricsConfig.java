@@ -0,0 +1,151 @@
+package com.scube.society_app_backend.config;
+
+import com.scube.society_app_backend.security.AccessTokenCache;
+import com.scube.society_app_backend.security.InMemoryRateLimiter;
+import com.scube.society_app_backend.service.AsyncSmsSender;
+import com.scube.society_app_backend.service.AuthEventOutbox;
+import com.scube.society_app_backend.service.OtpAuditWriter;
+import com.scube.society_app_backend.service.PartitionMaintenance;
+import com.scube.society_app_backend.service.RefreshTokenFilter;
+import com.scube.society_app_backend.service.ResidentImportService;
+import com.scube.society_app_backend.service.RetentionService;
+import com.scube.society_app_backend.service.TokenRevocationService;
+import com.scube.society_app_backend.service.UserProfileCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes the counters the auth components already keep (LongAdders, queue sizes) as Micrometer meters.
+ * Values are read at scrape time, so the hot paths are unchanged. Stage latencies live in AuthMetrics.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder accessTokenCacheMetrics(AccessTokenCache cache) {
+        return registry -> {
+            FunctionCounter.builder("auth.token_cache.requests", cache, AccessTokenCache::getHits)
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("auth.token_cache.requests", cache, AccessTokenCache::getMisses)
+                    .tag("result", "miss").register(registry);
+            Gauge.builder("auth.token_cache.size", cache, AccessTokenCache::size).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder userProfileCacheMetrics(UserProfileCache cache) {
+        return registry -> {
+            FunctionCounter.builder("auth.profile_cache.requests", cache, UserProfileCache::getHits)
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("auth.profile_cache.requests", cache, UserProfileCache::getMisses)
+                    .tag("result", "miss").register(registry);
+            Gauge.builder("auth.profile_cache.hit_ratio", cache, UserProfileCache::getHitRatio).register(registry);
+            Gauge.builder("auth.profile_cache.size", cache, UserProfileCache::size).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder tokenRevocationMetrics(TokenRevocationService revocations) {
+        return registry -> {
+            Gauge.builder("auth.revocation.entries", revocations, TokenRevocationService::getRevokedTokenCount)
+                    .tag("kind", "token").register(registry);
+            Gauge.builder("auth.revocation.entries", revocations, TokenRevocationService::getRevokedUserCount)
+                    .tag("kind", "user").register(registry);
+            FunctionCounter.builder("auth.revocation.rejected", revocations, TokenRevocationService::getRejected)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder refreshTokenFilterMetrics(RefreshTokenFilter filter) {
+        return registry -> {
+            FunctionCounter.builder("auth.refresh_filter.lookups", filter, RefreshTokenFilter::getRejected)
+                    .tag("result", "rejected").register(registry);
+            FunctionCounter.builder("auth.refresh_filter.lookups", filter, RefreshTokenFilter::getPassed)
+                    .tag("result", "passed").register(registry);
+            FunctionCounter.builder("auth.refresh_filter.lookups", filter, RefreshTokenFilter::getNotCovered)
+                    .tag("result", "not_covered").register(registry);
+            Gauge.builder("auth.refresh_filter.loaded_tokens", filter, RefreshTokenFilter::getLoadedTokens)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder partitionMetrics(PartitionMaintenance partitions) {
+        return registry -> Gauge.builder("db.partitions.missing", partitions, PartitionMaintenance::getMissingPartitions)
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder residentImportMetrics(ResidentImportService imports) {
+        return registry -> {
+            FunctionCounter.builder("admin.resident_import.rows", imports, ResidentImportService::getInserted)
+                    .tag("result", "inserted").register(registry);
+            FunctionCounter.builder("admin.resident_import.rows", imports, ResidentImportService::getUpdated)
+                    .tag("result", "updated").register(registry);
+            FunctionCounter.builder("admin.resident_import.rows", imports, ResidentImportService::getUnchanged)
+                    .tag("result", "unchanged").register(registry);
+            FunctionCounter.builder("admin.resident_import.rows", imports, ResidentImportService::getFailed)
+                    .tag("result", "failed").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder smsSenderMetrics(AsyncSmsSender sms) {
+        return registry -> {
+            Gauge.builder("auth.sms.queue.depth", sms, AsyncSmsSender::getQueueDepth).register(registry);
+            FunctionCounter.builder("auth.sms.jobs", sms, AsyncSmsSender::getSent).tag("result", "sent").register(registry);
+            FunctionCounter.builder("auth.sms.jobs", sms, AsyncSmsSender::getFailed).tag("result", "failed").register(registry);
+            FunctionCounter.builder("auth.sms.jobs", sms, AsyncSmsSender::getDropped).tag("result", "dropped").register(registry);
+            FunctionCounter.builder("auth.sms.jobs", sms, AsyncSmsSender::getRejected).tag("result", "rejected").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder authEventMetrics(AuthEventOutbox events) {
+        return registry -> {
+            Gauge.builder("auth.events.buffer.depth", events, AuthEventOutbox::getBufferDepth).register(registry);
+            Gauge.builder("auth.events.buffer.capacity", events, AuthEventOutbox::getBufferCapacity).register(registry);
+            Gauge.builder("auth.events.lag", events, AuthEventOutbox::getLagMillis)
+                    .baseUnit("milliseconds").register(registry);
+            FunctionCounter.builder("auth.events", events, AuthEventOutbox::getPublished)
+                    .tag("result", "published").register(registry);
+            FunctionCounter.builder("auth.events", events, AuthEventOutbox::getWritten)
+                    .tag("result", "written").register(registry);
+            FunctionCounter.builder("auth.events", events, AuthEventOutbox::getDropped)
+                    .tag("result", "dropped").register(registry);
+            FunctionCounter.builder("auth.events", events, AuthEventOutbox::getFailed)
+                    .tag("result", "failed").register(registry);
+            FunctionCounter.builder("auth.events.blocked", events, AuthEventOutbox::getBlocked).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder optionalAuthComponentMetrics(ObjectProvider<OtpAuditWriter> auditWriter,
+                                                    ObjectProvider<InMemoryRateLimiter> rateLimiter,
+                                                    ObjectProvider<RetentionService> retention,
+                                                    ObjectProvider<ReplicaRoutingDataSource> replicaRouting) {
+        return registry -> {
+            auditWriter.ifAvailable(writer -> {
+                Gauge.builder("auth.otp_audit.queue.depth", writer, OtpAuditWriter::getQueueDepth).register(registry);
+                FunctionCounter.builder("auth.otp_audit.rows", writer, OtpAuditWriter::getWritten)
+                        .tag("result", "written").register(registry);
+                FunctionCounter.builder("auth.otp_audit.rows", writer, OtpAuditWriter::getDropped)
+                        .tag("result", "dropped").register(registry);
+            });
+            rateLimiter.ifAvailable(limiter ->
+                    Gauge.builder("auth.rate_limit.buckets", limiter, InMemoryRateLimiter::size).register(registry));
+            retention.ifAvailable(service ->
+                    Gauge.builder("auth.retention.last_run.duration", service,
+                                    s -> s.getLastRun() == null ? Double.NaN : s.getLastRun().durationMs())
+                            .baseUnit("milliseconds").register(registry));
+            replicaRouting.ifAvailable(routing ->
+                    Gauge.builder("db.replicas.healthy", routing, ReplicaRoutingDataSource::getHealthyReplicaCount)
+                            .register(registry));
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.scube.society_app_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Read replicas for read-only transactions (see ReplicaRoutingConfig). Credentials default to the primary's. */
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+    private List<String> urls = new ArrayList<>();
+    private String username;
+    private String password;
+    private int maximumPoolSize = 10;
+    private long connectionTimeoutMs = 2_000;
+    private long maxLagMs = 1_000;
+    private long lagCheckIntervalMs = 1_000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public List<String> getUrls() { return urls; }
+    public void setUrls(List<String> urls) { this.urls = urls; }
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+    public int getMaximumPoolSize() { return maximumPoolSize; }
+    public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+    public long getConnectionTimeoutMs() { return connectionTimeoutMs; }
+    public void setConnectionTimeoutMs(long connectionTimeoutMs) { this.connectionTimeoutMs = connectionTimeoutMs; }
+    public long getMaxLagMs() { return maxLagMs; }
+    public void setMaxLagMs(long maxLagMs) { this.maxLagMs = maxLagMs; }
+    public long getLagCheckIntervalMs() { return lagCheckIntervalMs; }
+    public void setLagCheckIntervalMs(long lagCheckIntervalMs) { this.lagCheckIntervalMs = lagCheckIntervalMs; }
+}
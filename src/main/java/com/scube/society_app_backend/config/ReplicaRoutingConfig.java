@@ -0,0 +1,63 @@
+package com.scube.society_app_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource when app.datasource.replica.enabled=true: spring.datasource.* stays
+ * the primary, read-only transactions go to app.datasource.replica.urls (see ReplicaRoutingDataSource).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             ReplicaProperties replica) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < replica.getUrls().size(); i++) {
+            pools.add(replicaPool(i, replica.getUrls().get(i), properties, replica));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, pools,
+                replica.getMaxLagMs(), replica.getLagCheckIntervalMs());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private static HikariDataSource replicaPool(int index, String url, DataSourceProperties properties,
+                                                ReplicaProperties replica) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica-" + index);
+        pool.setJdbcUrl(url);
+        pool.setDriverClassName(properties.determineDriverClassName());
+        pool.setUsername(replica.getUsername() != null ? replica.getUsername() : properties.determineUsername());
+        pool.setPassword(replica.getPassword() != null ? replica.getPassword() : properties.determinePassword());
+        pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+        pool.setConnectionTimeout(replica.getConnectionTimeoutMs());
+        pool.setReadOnly(true);
+        // A replica that is down at startup must not stop the app; it just stays out of rotation.
+        pool.setInitializationFailTimeout(-1);
+        return pool;
+    }
+}
@@ -0,0 +1,146 @@
+package com.scube.society_app_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only transactions round-robin over replicas whose replay lag is within max-lag-ms; everything
+ * else (and read-only work when no replica is healthy) goes to the primary. Lag is polled on a background
+ * thread, so routing itself is a volatile read. A replica only counts as lag-free once it has replayed up to the
+ * primary's WAL position read at the start of the check, so one whose WAL receiver has stopped is not mistaken
+ * for caught up (its receive and replay positions are then equal too). Must sit behind a LazyConnectionDataSourceProxy: the
+ * transaction's read-only flag is only set after the transaction manager asks for a connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private static final String PRIMARY_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+    // Replicas at the primary's position report 0 even when the primary is idle (replay timestamp would keep
+    // ageing); behind it, lag is the age of the last replayed transaction, NULL (unhealthy) if there is none.
+    // A server that is not in recovery is treated as lag-free.
+    private static final String LAG_QUERY = "SELECT CASE"
+            + " WHEN NOT pg_is_in_recovery() THEN 0"
+            + " WHEN pg_last_wal_replay_lsn() >= ?::pg_lsn THEN 0"
+            + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    private final DataSource primary;
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final Map<String, HikariDataSource> replicas = new HashMap<>();
+    private final long maxLagMs;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService lagChecker;
+
+    private volatile String[] healthy = new String[0];
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+                                    long maxLagMs, long lagCheckIntervalMs) {
+        this.primary = primary;
+        this.maxLagMs = maxLagMs;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaPools.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            replicas.put(key, replicaPools.get(i));
+            targets.put(key, replicaPools.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        lagChecker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("replica-lag-check").factory());
+        lagChecker.scheduleWithFixedDelay(this::checkReplicas, 0,
+                Math.max(100, lagCheckIntervalMs), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        String[] candidates = healthy;
+        if (candidates.length == 0) {
+            return PRIMARY;
+        }
+        return candidates[Math.floorMod(next.getAndIncrement(), candidates.length)];
+    }
+
+    /** Re-measure every replica's lag and publish the set that may serve reads. */
+    public void checkReplicas() {
+        String primaryLsn;
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(PRIMARY_LSN_QUERY)) {
+            rs.next();
+            primaryLsn = rs.getString(1);
+        } catch (Exception e) {
+            if (healthy.length > 0) {
+                log.warn("[replica] primary WAL position unavailable, reads fall back to primary: {}", e.getMessage());
+            }
+            healthy = new String[0];
+            return;
+        }
+        List<String> ok = new ArrayList<>(replicaKeys.size());
+        for (String key : replicaKeys) {
+            try (Connection connection = replicas.get(key).getConnection();
+                 PreparedStatement statement = connection.prepareStatement(LAG_QUERY)) {
+                statement.setString(1, primaryLsn);
+                double lagMs = Double.MAX_VALUE;
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next()) {
+                        double value = rs.getDouble(1);
+                        lagMs = rs.wasNull() ? Double.MAX_VALUE : value;
+                    }
+                }
+                if (lagMs <= maxLagMs) {
+                    ok.add(key);
+                } else if (contains(healthy, key)) {
+                    log.warn("[replica] {} lag {} ms > {} ms, reads fall back to primary", key, (long) lagMs, maxLagMs);
+                }
+            } catch (Exception e) {
+                if (contains(healthy, key)) {
+                    log.warn("[replica] {} unreachable, reads fall back to primary: {}", key, e.getMessage());
+                }
+            }
+        }
+        healthy = ok.toArray(String[]::new);
+    }
+
+    public int getHealthyReplicaCount() { return healthy.length; }
+    public int getReplicaCount() { return replicaKeys.size(); }
+
+    @Override
+    public void close() {
+        lagChecker.shutdownNow();
+        replicas.values().forEach(HikariDataSource::close);
+    }
+
+    private static boolean contains(String[] keys, String key) {
+        for (String k : keys) {
+            if (k.equals(key)) return true;
+        }
+        return false;
+    }
+}
@@ -1,14 +1,55 @@
 package com.scube.society_app_backend.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
+    public static final String SMS_REST_TEMPLATE = "smsRestTemplate";
+
     @Bean
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    /** Dedicated client for the SMS provider: pooled keep-alive connections and bounded timeouts. */
+    @Bean(name = SMS_REST_TEMPLATE)
+    public RestTemplate smsRestTemplate(AuthProperties authProperties) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(smsHttpClient(authProperties.getSms())));
+    }
+
+    static CloseableHttpClient smsHttpClient(AuthProperties.Sms sms) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(sms.getConnectTimeoutMs()))
+                .setSocketTimeout(Timeout.ofMilliseconds(sms.getReadTimeoutMs()))
+                .setTimeToLive(TimeValue.ofSeconds(sms.getKeepAliveSec()))
+                .build();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(sms.getMaxConnections())
+                .setMaxConnPerRoute(sms.getMaxConnections())
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(sms.getConnectTimeoutMs()))
+                .setResponseTimeout(Timeout.ofMilliseconds(sms.getReadTimeoutMs()))
+                .build();
+        // Retries are handled by DefaultSmsSender (budgeted, with backoff), not by the client.
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictIdleConnections(TimeValue.ofSeconds(sms.getKeepAliveSec()))
+                .disableAutomaticRetries()
+                .build();
+    }
 }
@@ -0,0 +1,57 @@
+package com.scube.society_app_backend.controller;
+
+import com.scube.society_app_backend.config.AdminProperties;
+import com.scube.society_app_backend.dto.ResidentImportReport;
+import com.scube.society_app_backend.service.ResidentImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/** Operator endpoints, guarded by app.admin.api-key (X-Admin-Key header); 404 while no key is configured. */
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final ResidentImportService residentImportService;
+    private final byte[] apiKey;
+
+    public AdminController(ResidentImportService residentImportService, AdminProperties adminProperties) {
+        this.residentImportService = residentImportService;
+        this.apiKey = adminProperties.getApiKey() != null
+                ? adminProperties.getApiKey().getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    /**
+     * Bulk resident import. The body is streamed, not buffered: text/csv (phone,name) or a JSON array of
+     * {phone, name}. Returns the import report; per-row problems are listed there, not as an error status.
+     */
+    @PostMapping("/residents/import")
+    public ResponseEntity<?> importResidents(@RequestHeader(value = "X-Admin-Key", required = false) String key,
+                                             HttpServletRequest request) throws IOException {
+        if (apiKey.length == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        if (key == null || !MessageDigest.isEqual(apiKey, key.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(401).body(Map.of("error", "unauthorized"));
+        }
+        String contentType = request.getContentType() != null ? request.getContentType() : "";
+        ResidentImportReport report;
+        if (contentType.startsWith(MediaType.APPLICATION_JSON_VALUE)) {
+            report = residentImportService.importJson(request.getInputStream());
+        } else if (contentType.startsWith("text/csv") || contentType.startsWith(MediaType.TEXT_PLAIN_VALUE)) {
+            report = residentImportService.importCsv(request.getInputStream());
+        } else {
+            return ResponseEntity.status(415).body(Map.of("error", "use text/csv or application/json"));
+        }
+        return ResponseEntity.ok(report);
+    }
+}
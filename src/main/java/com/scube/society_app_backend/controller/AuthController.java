@@ -1,11 +1,17 @@
 package com.scube.society_app_backend.controller;
 
 import com.scube.society_app_backend.dto.*;
-import com.scube.society_app_backend.entity.User;
-import com.scube.society_app_backend.repository.UserRepository;
+import com.scube.society_app_backend.security.AuthRateLimiter;
 import com.scube.society_app_backend.security.JwtAuthFilter;
+import com.scube.society_app_backend.security.RateLimitExceededException;
+import com.scube.society_app_backend.service.AuthEventOutbox;
 import com.scube.society_app_backend.service.AuthService;
+import com.scube.society_app_backend.service.JwtService;
 import com.scube.society_app_backend.service.OtpService;
+import com.scube.society_app_backend.service.PhoneNormalizer;
+import com.scube.society_app_backend.service.SmsQueueFullException;
+import com.scube.society_app_backend.service.UserProfileCache;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,37 +25,71 @@ public class AuthController {
 
     private final OtpService otpService;
     private final AuthService authService;
-    private final UserRepository userRepository;
+    private final AuthRateLimiter authRateLimiter;
+    private final UserProfileCache profileCache;
+    private final AuthEventOutbox authEvents;
+    private final PhoneNormalizer phoneNormalizer;
 
-    public AuthController(OtpService otpService, AuthService authService, UserRepository userRepository) {
+    public AuthController(OtpService otpService, AuthService authService, AuthRateLimiter authRateLimiter,
+                          UserProfileCache profileCache, AuthEventOutbox authEvents, PhoneNormalizer phoneNormalizer) {
         this.otpService = otpService;
         this.authService = authService;
-        this.userRepository = userRepository;
+        this.authRateLimiter = authRateLimiter;
+        this.profileCache = profileCache;
+        this.authEvents = authEvents;
+        this.phoneNormalizer = phoneNormalizer;
     }
 
     @PostMapping("/otp/request")
-    public ResponseEntity<Map<String, String>> requestOtp(@RequestBody OtpRequest request) {
+    public ResponseEntity<Map<String, String>> requestOtp(@RequestBody OtpRequest request, HttpServletRequest httpRequest) {
+        String clientIp = httpRequest.getRemoteAddr();
         if (request == null || request.phone() == null || request.phone().isBlank()) {
+            authEvents.otpRejected(clientIp, null, "phone required");
             return ResponseEntity.badRequest().body(Map.of("error", "phone required"));
         }
+        // Malformed phones are rejected before they can spend the IP's (or a junk phone bucket's) tokens
+        long phoneKey = phoneNormalizer.toKey(request.phone());
+        if (phoneKey == PhoneNormalizer.INVALID) {
+            authEvents.otpRejected(clientIp, request.phone(), "invalid phone");
+            return ResponseEntity.badRequest().body(Map.of("error", "invalid phone"));
+        }
         try {
-            otpService.createAndSend(request.phone());
+            authRateLimiter.checkOtpRequest(clientIp, phoneKey);
+            otpService.createAndSend(phoneKey);
+        } catch (RateLimitExceededException e) {
+            authEvents.otpRejected(clientIp, request.phone(), "rate_limited");
+            return tooManyRequests(e);
         } catch (IllegalArgumentException e) {
+            authEvents.otpRejected(clientIp, request.phone(), e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (SmsQueueFullException e) {
+            authEvents.otpRejected(clientIp, request.phone(), "sms_queue_full");
+            return ResponseEntity.status(503).body(Map.of("error", e.getMessage()));
         }
+        authEvents.otpRequested(clientIp, request.phone());
         return ResponseEntity.ok(Map.of("message", "otp_sent"));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        String clientIp = httpRequest.getRemoteAddr();
         if (request == null) {
+            authEvents.loginFailed(clientIp, null, "invalid body");
             return ResponseEntity.badRequest().body(Map.of("error", "invalid body"));
         }
+        try {
+            authRateLimiter.checkLogin(clientIp, request.phone());
+        } catch (RateLimitExceededException e) {
+            authEvents.loginFailed(clientIp, request.phone(), "rate_limited");
+            return tooManyRequests(e);
+        }
         try {
             LoginResponse response = authService.login(request.phone(), request.otp());
+            authEvents.loginSucceeded(clientIp, request.phone(), UUID.fromString(response.user().id()));
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             String msg = e.getMessage();
+            authEvents.loginFailed(clientIp, request.phone(), msg);
             if ("invalid_or_expired_otp".equals(msg) || "phone and otp required".equals(msg)) {
                 return ResponseEntity.status(401).body(Map.of("error", msg));
             }
@@ -58,26 +98,57 @@ public class AuthController {
     }
 
     @PostMapping("/refresh")
-    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request) {
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request, HttpServletRequest httpRequest) {
+        String clientIp = httpRequest.getRemoteAddr();
         if (request == null || request.refresh_token() == null || request.refresh_token().isBlank()) {
+            authEvents.refreshFailed(clientIp, "refresh_token required");
             return ResponseEntity.badRequest().body(Map.of("error", "refresh_token required"));
         }
         try {
             LoginResponse response = authService.refresh(request.refresh_token());
+            authEvents.tokenRefreshed(clientIp, UUID.fromString(response.user().id()));
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
+            authEvents.refreshFailed(clientIp, e.getMessage());
             return ResponseEntity.status(401).body(Map.of("error", e.getMessage()));
         }
     }
 
+    /** Log out this session; the body may carry the refresh token to revoke along with the access token. */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) RefreshRequest body, HttpServletRequest httpRequest) {
+        JwtService.VerifiedAccessToken accessToken =
+                (JwtService.VerifiedAccessToken) httpRequest.getAttribute(JwtAuthFilter.REQUEST_ATTR_ACCESS_TOKEN);
+        if (accessToken == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "unauthorized"));
+        }
+        authService.logout(accessToken, body != null ? body.refresh_token() : null);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll(HttpServletRequest httpRequest) {
+        UUID userId = (UUID) httpRequest.getAttribute(JwtAuthFilter.REQUEST_ATTR_USER_ID);
+        if (userId == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "unauthorized"));
+        }
+        authService.logoutAll(userId);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/me")
     public ResponseEntity<Object> me(HttpServletRequest httpRequest) {
         UUID userId = (UUID) httpRequest.getAttribute(JwtAuthFilter.REQUEST_ATTR_USER_ID);
         if (userId == null) {
             return ResponseEntity.status(401).body((Object) Map.of("error", "unauthorized"));
         }
-        return userRepository.findById(userId)
-                .map(user -> ResponseEntity.<Object>ok(AuthService.toUserResponse(user)))
+        JwtService.ProfileClaims claims = (JwtService.ProfileClaims) httpRequest.getAttribute(JwtAuthFilter.REQUEST_ATTR_PROFILE);
+        if (claims != null && !profileCache.isStale(userId, claims.version())) {
+            return ResponseEntity.ok(new UserResponse(userId.toString(),
+                    claims.phone() != null ? claims.phone() : "", claims.name() != null ? claims.name() : ""));
+        }
+        return profileCache.getOrLoad(userId, id -> authService.findUser(id).or(() -> authService.findUserOnPrimary(id)))
+                .map(ResponseEntity::<Object>ok)
                 .orElse(ResponseEntity.status(404).body((Object) Map.of("error", "user not found")));
     }
 
@@ -96,12 +167,17 @@ public class AuthController {
             return ResponseEntity.badRequest().body(Map.of("error", "first_name and last_name required"));
         }
         String fullName = (first + " " + last).trim();
-        return userRepository.findById(userId)
+        return authService.updateProfileName(userId, fullName)
                 .map(user -> {
-                    user.setName(fullName);
-                    User saved = userRepository.save(user);
-                    return ResponseEntity.<Object>ok(AuthService.toUserResponse(saved));
+                    authEvents.profileUpdated(httpRequest.getRemoteAddr(), userId);
+                    return ResponseEntity.<Object>ok(user);
                 })
                 .orElse(ResponseEntity.status(404).body((Object) Map.of("error", "user not found")));
     }
+
+    private static ResponseEntity<Map<String, String>> tooManyRequests(RateLimitExceededException e) {
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", e.getMessage()));
+    }
 }
@@ -1,17 +1,26 @@
 package com.scube.society_app_backend.controller;
 
+import com.scube.society_app_backend.service.ReadinessMonitor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
 public class HealthController {
 
+    private final ReadinessMonitor readinessMonitor;
+
+    public HealthController(ReadinessMonitor readinessMonitor) {
+        this.readinessMonitor = readinessMonitor;
+    }
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
         return ResponseEntity.ok(Map.of(
@@ -21,6 +30,27 @@ public class HealthController {
         ));
     }
 
+    /** Liveness: the process can serve HTTP. Never checks dependencies, so a DB outage doesn't restart pods. */
+    @GetMapping("/health/live")
+    public ResponseEntity<Map<String, String>> live() {
+        return ResponseEntity.ok(Map.of("status", "UP"));
+    }
+
+    /** Readiness: precomputed dependency snapshot from ReadinessMonitor; 503 takes the pod out of rotation. */
+    @GetMapping("/health/ready")
+    public ResponseEntity<Map<String, Object>> ready() {
+        ReadinessMonitor.Snapshot s = readinessMonitor.current();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", s.ready() ? "UP" : "DOWN");
+        if (s.reason() != null) body.put("reason", s.reason());
+        body.put("checked_at", s.checkedAt().toString());
+        body.put("db", Map.of("up", s.dbUp(), "latency_ms", s.dbLatencyMs()));
+        body.put("pool", Map.of("active", s.poolActive(), "total", s.poolTotal(),
+                "max", s.poolMax(), "waiting", s.poolWaiting()));
+        body.put("sms", Map.of("circuit", s.smsCircuit()));
+        return ResponseEntity.status(s.ready() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
     @GetMapping("/hello")
     public ResponseEntity<Map<String, String>> hello() {
         return ResponseEntity.ok(Map.of(
@@ -0,0 +1,45 @@
+package com.scube.society_app_backend.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scube.society_app_backend.service.JwtService;
+import com.scube.society_app_backend.service.TokenCrypto;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public verification keys (RFC 7517) so other services can check access tokens locally. Keys only change
+ * on redeploy, so the document is serialized once and served with an ETag and a public max-age; during a
+ * rotation the incoming key is listed before it starts signing. Empty for HS256.
+ */
+@RestController
+public class JwksController {
+
+    private static final long MAX_AGE_MINUTES = 5;
+
+    private final byte[] body;
+    private final String etag;
+
+    public JwksController(JwtService jwtService, ObjectMapper objectMapper) throws JsonProcessingException {
+        this.body = objectMapper.writeValueAsBytes(Map.of("keys", jwtService.getKeyRing().getPublicJwks()));
+        this.etag = "\"" + TokenCrypto.toHex(TokenCrypto.sha256(body)).substring(0, 16) + "\"";
+    }
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> jwks(WebRequest request) {
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(MAX_AGE_MINUTES, TimeUnit.MINUTES).cachePublic())
+                .eTag(etag)
+                .body(body);
+    }
+}
@@ -0,0 +1,14 @@
+package com.scube.society_app_backend.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk resident import. rows counts every data row read; errors lists the first failures (by
+ * 1-based line or array position), failed counts all of them. aborted is set if the upload stopped being
+ * readable part-way; batches before that point are already committed, and re-running the import is safe.
+ */
+public record ResidentImportReport(long rows, long inserted, long updated, long unchanged, long failed,
+                                   List<RowError> errors, String aborted, long duration_ms) {
+
+    public record RowError(long line, String error) {}
+}
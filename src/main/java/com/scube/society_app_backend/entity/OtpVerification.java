@@ -10,12 +10,16 @@ import java.util.UUID;
 public class OtpVerification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(name = "phone", nullable = false)
     private String phone;
 
+    /** E.164 digits as a number (PhoneNormalizer); what lookups use. */
+    @Column(name = "phone_key")
+    private Long phoneKey;
+
     @Column(name = "code", nullable = false)
     private String code;
 
@@ -39,6 +43,8 @@ public class OtpVerification {
     public void setId(UUID id) { this.id = id; }
     public String getPhone() { return phone; }
     public void setPhone(String phone) { this.phone = phone; }
+    public Long getPhoneKey() { return phoneKey; }
+    public void setPhoneKey(Long phoneKey) { this.phoneKey = phoneKey; }
     public String getCode() { return code; }
     public void setCode(String code) { this.code = code; }
     public Instant getExpiresAt() { return expiresAt; }
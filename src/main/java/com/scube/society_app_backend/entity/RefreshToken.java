@@ -10,14 +10,15 @@ import java.util.UUID;
 public class RefreshToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(name = "user_id", nullable = false)
     private UUID userId;
 
-    @Column(name = "token_hash", nullable = false, unique = true)
-    private String tokenHash;
+    /** SHA-256 of the raw token (32 bytes); see JwtService#hashRefreshToken. */
+    @Column(name = "token_digest", nullable = false, unique = true, length = 32)
+    private byte[] tokenDigest;
 
     @Column(name = "expires_at", nullable = false)
     private Instant expiresAt;
@@ -39,8 +40,8 @@ public class RefreshToken {
     public void setId(UUID id) { this.id = id; }
     public UUID getUserId() { return userId; }
     public void setUserId(UUID userId) { this.userId = userId; }
-    public String getTokenHash() { return tokenHash; }
-    public void setTokenHash(String tokenHash) { this.tokenHash = tokenHash; }
+    public byte[] getTokenDigest() { return tokenDigest; }
+    public void setTokenDigest(byte[] tokenDigest) { this.tokenDigest = tokenDigest; }
     public Instant getExpiresAt() { return expiresAt; }
     public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
     public Instant getRevokedAt() { return revokedAt; }
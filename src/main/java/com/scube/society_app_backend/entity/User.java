@@ -10,7 +10,7 @@ import java.util.UUID;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(name = "email")
@@ -19,9 +19,17 @@ public class User {
     @Column(name = "phone")
     private String phone;
 
+    /** E.164 digits as a number (PhoneNormalizer); what lookups use. */
+    @Column(name = "phone_key")
+    private Long phoneKey;
+
     @Column(name = "name", nullable = false)
     private String name;
 
+    /** Incremented on each profile change; embedded in access tokens with profile claims. */
+    @Column(name = "profile_version", nullable = false)
+    private int profileVersion;
+
     /** Maps to UserDetails.isEnabled(); false = cannot authenticate. */
     @Column(name = "enabled", nullable = false)
     private Boolean enabled = true;
@@ -56,8 +64,12 @@ public class User {
     public void setEmail(String email) { this.email = email; }
     public String getPhone() { return phone; }
     public void setPhone(String phone) { this.phone = phone; }
+    public Long getPhoneKey() { return phoneKey; }
+    public void setPhoneKey(Long phoneKey) { this.phoneKey = phoneKey; }
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
+    public int getProfileVersion() { return profileVersion; }
+    public void setProfileVersion(int profileVersion) { this.profileVersion = profileVersion; }
     public Boolean getEnabled() { return enabled; }
     public void setEnabled(Boolean enabled) { this.enabled = enabled; }
     public Instant getAccountLockedUntil() { return accountLockedUntil; }
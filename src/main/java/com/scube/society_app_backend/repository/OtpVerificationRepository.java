@@ -2,6 +2,9 @@ package com.scube.society_app_backend.repository;
 
 import com.scube.society_app_backend.entity.OtpVerification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -9,6 +12,16 @@ import java.util.UUID;
 
 public interface OtpVerificationRepository extends JpaRepository<OtpVerification, UUID> {
 
-    Optional<OtpVerification> findByPhoneAndCodeAndUsedAtIsNullAndExpiresAtAfter(
-            String phone, String code, Instant now);
+    /**
+     * Mark a matching unused, unexpired OTP as used and return it, in one statement. Concurrent callers
+     * serialize on the row lock and re-check used_at, so each code is consumed at most once. A live code was
+     * created after createdAfter (now minus the OTP expiry), which prunes the scan to the newest partitions.
+     */
+    @Transactional
+    @Query(value = "UPDATE otp_verifications SET used_at = :now"
+            + " WHERE phone_key = :phoneKey AND code = :code AND used_at IS NULL AND expires_at > :now"
+            + " AND created_at > :createdAfter"
+            + " RETURNING *", nativeQuery = true)
+    Optional<OtpVerification> consume(@Param("phoneKey") long phoneKey, @Param("code") String code,
+                                      @Param("now") Instant now, @Param("createdAfter") Instant createdAfter);
 }
@@ -2,6 +2,10 @@ package com.scube.society_app_backend.repository;
 
 import com.scube.society_app_backend.entity.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -9,6 +13,34 @@ import java.util.UUID;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
 
-    Optional<RefreshToken> findByTokenHashAndRevokedAtIsNullAndExpiresAtAfter(
-            String tokenHash, Instant now);
+    /**
+     * Revoke a live refresh token by digest and return it, in one statement; a token can be rotated only once.
+     * A live token was created after createdAfter (now minus the refresh TTL), which prunes the scan to the
+     * partitions it can be in.
+     */
+    @Transactional
+    @Query(value = "UPDATE refresh_tokens SET revoked_at = :now"
+            + " WHERE token_digest = :tokenDigest AND revoked_at IS NULL AND expires_at > :now"
+            + " AND created_at > :createdAfter"
+            + " RETURNING *", nativeQuery = true)
+    Optional<RefreshToken> revokeLive(@Param("tokenDigest") byte[] tokenDigest, @Param("now") Instant now,
+                                      @Param("createdAfter") Instant createdAfter);
+
+    /** Like {@link #revokeLive} for logout: only revokes the token if it belongs to userId. */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE refresh_tokens SET revoked_at = :now"
+            + " WHERE token_digest = :tokenDigest AND user_id = :userId AND revoked_at IS NULL AND expires_at > :now"
+            + " AND created_at > :createdAfter", nativeQuery = true)
+    int revokeLiveForUser(@Param("tokenDigest") byte[] tokenDigest, @Param("userId") UUID userId,
+                          @Param("now") Instant now, @Param("createdAfter") Instant createdAfter);
+
+    /** Revoke every live refresh token of the user ("sign out all devices"); returns how many were revoked. */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE refresh_tokens SET revoked_at = :now"
+            + " WHERE user_id = :userId AND revoked_at IS NULL AND expires_at > :now"
+            + " AND created_at > :createdAfter", nativeQuery = true)
+    int revokeAllLive(@Param("userId") UUID userId, @Param("now") Instant now,
+                      @Param("createdAfter") Instant createdAfter);
 }
@@ -2,11 +2,26 @@ package com.scube.society_app_backend.repository;
 
 import com.scube.society_app_backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
 
-    Optional<User> findByPhone(String phone);
+    /** Lookup by {@link com.scube.society_app_backend.service.PhoneNormalizer} key (idx_users_phone_key). */
+    Optional<User> findByPhoneKey(long phoneKey);
+
+    /**
+     * Return the user for the phone key, creating it if missing, in one statement. Safe under concurrent first
+     * logins: the loser of the insert race waits on idx_users_phone_key and gets the winner's row.
+     * The no-op SET keeps phone_key unchanged, so Postgres can apply it as a HOT update (no index churn).
+     */
+    @Transactional
+    @Query(value = "INSERT INTO users (phone, phone_key, name) VALUES (CAST(:phoneKey AS TEXT), :phoneKey, '')"
+            + " ON CONFLICT (phone_key) WHERE phone_key IS NOT NULL DO UPDATE SET phone_key = EXCLUDED.phone_key"
+            + " RETURNING *", nativeQuery = true)
+    User upsertByPhoneKey(@Param("phoneKey") long phoneKey);
 }
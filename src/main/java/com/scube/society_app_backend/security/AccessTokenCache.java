@@ -0,0 +1,109 @@
+package com.scube.society_app_backend.security;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.service.JwtService;
+import com.scube.society_app_backend.service.TokenCrypto;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of verified access tokens so repeated calls with the same bearer token skip
+ * signature verification and claim parsing. Keyed by SHA-256 of the token (raw tokens are not kept).
+ * <p>
+ * Entries are also queued in insertion order. Access tokens all have the same TTL, so that is (nearly)
+ * expiry order: when the cache is full a miss evicts the oldest entry in O(1), and the scheduled sweep
+ * pops expired entries off the head instead of scanning the map. An expired entry met on lookup is
+ * dropped there too.
+ */
+@Component
+public class AccessTokenCache {
+
+    private final JwtService jwtService;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AccessTokenCache(JwtService jwtService, AuthProperties authProperties) {
+        this.jwtService = jwtService;
+        this.maxEntries = Math.max(0, authProperties.getJwt().getTokenCacheMaxEntries());
+    }
+
+    /** Return user id for a valid access token, from cache when possible; throws if invalid. */
+    public UUID resolve(String token) {
+        return resolveVerified(token).userId();
+    }
+
+    /** Like {@link #resolve} but with the token's expiry and profile claims (if any). */
+    public JwtService.VerifiedAccessToken resolveVerified(String token) {
+        if (maxEntries == 0) {
+            misses.increment();
+            return jwtService.verifyAccessToken(token);
+        }
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(digest);
+        if (cached != null) {
+            if (cached.expiresAtMillis > now) {
+                hits.increment();
+                return cached.verified;
+            }
+            entries.remove(digest, cached);
+        }
+        misses.increment();
+
+        JwtService.VerifiedAccessToken verified = jwtService.verifyAccessToken(token);
+        long expiresAtMillis = verified.expiresAt().toEpochMilli();
+        if (expiresAtMillis > now) {
+            if (entries.size() >= maxEntries) {
+                evictOldest();
+            }
+            Entry entry = new Entry(digest, verified, expiresAtMillis);
+            entries.put(digest, entry);
+            insertionOrder.add(entry);
+        }
+        return verified;
+    }
+
+    /** Drop entries whose token has expired, oldest first; stops at the first live one. */
+    @Scheduled(fixedDelayString = "${app.auth.jwt.token-cache-sweep-interval-ms:30000}")
+    public void evictExpired() {
+        evictExpired(System.currentTimeMillis());
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public int size() { return entries.size(); }
+
+    void evictExpired(long now) {
+        Entry head;
+        while ((head = insertionOrder.peek()) != null && head.expiresAtMillis <= now) {
+            if (insertionOrder.remove(head)) {
+                entries.remove(head.digest, head);
+            }
+        }
+    }
+
+    /** Queue entries already dropped from the map (expired on lookup, replaced) are skipped. */
+    private void evictOldest() {
+        Entry oldest;
+        while ((oldest = insertionOrder.poll()) != null) {
+            if (entries.remove(oldest.digest, oldest)) {
+                return;
+            }
+        }
+    }
+
+    private static String digest(String token) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(TokenCrypto.sha256(token));
+    }
+
+    private record Entry(String digest, JwtService.VerifiedAccessToken verified, long expiresAtMillis) {}
+}
@@ -0,0 +1,54 @@
+package com.scube.society_app_backend.security;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.service.PhoneNormalizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the configured limits to /auth/otp/request and /auth/login, per client IP and per phone.
+ * IP is taken from the servlet remote address; behind a proxy set {@code server.forward-headers-strategy}.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private final RateLimiter rateLimiter;
+    private final AuthProperties.RateLimit config;
+    private final PhoneNormalizer phoneNormalizer;
+
+    public AuthRateLimiter(RateLimiter rateLimiter, AuthProperties authProperties, PhoneNormalizer phoneNormalizer) {
+        this.rateLimiter = rateLimiter;
+        this.config = authProperties.getRateLimit();
+        this.phoneNormalizer = phoneNormalizer;
+    }
+
+    /**
+     * Throws {@link RateLimitExceededException} when the IP or phone is over its OTP request limit. Takes the
+     * normalized phone key: only well-formed requests should spend tokens.
+     */
+    public void checkOtpRequest(String clientIp, long phoneKey) {
+        check("otp:ip:" + clientIp, config.getOtpPerIp(), config.getPeriodSec());
+        check("otp:phone:" + phoneKey, config.getOtpPerPhone(), config.getPeriodSec());
+    }
+
+    /** Throws {@link RateLimitExceededException} when the IP or phone is over its login attempt limit. */
+    public void checkLogin(String clientIp, String phone) {
+        check("login:ip:" + clientIp, config.getLoginPerIp(), config.getPeriodSec());
+        check("login:phone:" + phoneKey(phone), config.getLoginPerPhone(), config.getPeriodSec());
+    }
+
+    private void check(String key, int capacity, long periodSec) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(key, new RateLimiter.Limit(capacity, periodSec));
+        if (!decision.allowed()) {
+            throw new RateLimitExceededException(decision.retryAfterSeconds());
+        }
+    }
+
+    /** Canonical key, so "+91 98765 43210", "9876543210" and "919876543210" share a bucket. */
+    private String phoneKey(String phone) {
+        long key = phoneNormalizer.toKey(phone);
+        return key == PhoneNormalizer.INVALID ? "invalid" : Long.toString(key);
+    }
+}
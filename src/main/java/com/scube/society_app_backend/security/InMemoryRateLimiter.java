@@ -0,0 +1,60 @@
+package com.scube.society_app_backend.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets in a ConcurrentHashMap; each update is a per-key compute, so contention is limited to
+ * callers sharing a key. Buckets that have refilled completely carry no state and are swept periodically.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.auth.rate-limit", name = "backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public Decision tryAcquire(String key, Limit limit) {
+        return tryAcquire(key, limit, System.nanoTime());
+    }
+
+    Decision tryAcquire(String key, Limit limit, long nowNanos) {
+        if (limit.capacity() <= 0) {
+            return Decision.ALLOWED;
+        }
+        double nanosPerToken = (double) TimeUnit.SECONDS.toNanos(Math.max(1, limit.periodSeconds())) / limit.capacity();
+        Decision[] decision = new Decision[1];
+        buckets.compute(key, (k, current) -> {
+            double tokens = current == null
+                    ? limit.capacity()
+                    : current.tokensAt(nowNanos);
+            if (tokens >= 1) {
+                decision[0] = Decision.ALLOWED;
+                return new Bucket(tokens - 1, nowNanos, limit.capacity(), nanosPerToken);
+            }
+            long waitNanos = (long) Math.ceil((1 - tokens) * nanosPerToken);
+            decision[0] = new Decision(false, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+            return new Bucket(tokens, nowNanos, limit.capacity(), nanosPerToken);
+        });
+        return decision[0];
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.forEach((key, bucket) ->
+                buckets.computeIfPresent(key, (k, b) -> b.tokensAt(now) >= b.capacity() ? null : b));
+    }
+
+    public int size() { return buckets.size(); }
+
+    private record Bucket(double tokens, long updatedNanos, int capacity, double nanosPerToken) {
+        double tokensAt(long nowNanos) {
+            return Math.min(capacity, tokens + (nowNanos - updatedNanos) / nanosPerToken);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.scube.society_app_backend.security;
 
+import com.scube.society_app_backend.service.AuthMetrics;
 import com.scube.society_app_backend.service.JwtService;
+import com.scube.society_app_backend.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,31 +12,40 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.Set;
 
 /**
- * Validates JWT for /auth/me and /auth/profile. Sets request attribute "userId" (UUID) on success; returns 401 otherwise.
+ * Validates JWT for /auth/me, /auth/profile and the logout endpoints. Sets request attributes "userId" (UUID) and
+ * "accessToken" (JwtService.VerifiedAccessToken) on success, plus "profile" (JwtService.ProfileClaims) when the
+ * token carries profile claims; returns 401 otherwise, including for tokens on the revocation denylist.
  */
 @Component
 @Order(1)
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     public static final String REQUEST_ATTR_USER_ID = "userId";
+    public static final String REQUEST_ATTR_PROFILE = "profile";
+    public static final String REQUEST_ATTR_ACCESS_TOKEN = "accessToken";
 
-    private static final String AUTH_ME = "/auth/me";
-    private static final String AUTH_PROFILE = "/auth/profile";
+    private static final Set<String> PROTECTED_PATHS =
+            Set.of("/auth/me", "/auth/profile", "/auth/logout", "/auth/logout-all");
 
-    private final JwtService jwtService;
+    private final AccessTokenCache accessTokenCache;
+    private final TokenRevocationService revocationService;
+    private final AuthMetrics metrics;
 
-    public JwtAuthFilter(JwtService jwtService) {
-        this.jwtService = jwtService;
+    public JwtAuthFilter(AccessTokenCache accessTokenCache, TokenRevocationService revocationService,
+                         AuthMetrics metrics) {
+        this.accessTokenCache = accessTokenCache;
+        this.revocationService = revocationService;
+        this.metrics = metrics;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         String path = request.getRequestURI();
-        if (!path.equals(AUTH_ME) && !path.equals(AUTH_PROFILE)) {
+        if (!PROTECTED_PATHS.contains(path)) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -50,13 +61,27 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
 
+        JwtService.VerifiedAccessToken verified;
         try {
-            UUID userId = jwtService.validateAccessToken(token);
-            request.setAttribute(REQUEST_ATTR_USER_ID, userId);
-            filterChain.doFilter(request, response);
+            // The denylist check is not cached with the token: a logout must take effect on the next request.
+            verified = metrics.record(AuthMetrics.Stage.JWT_VALIDATE, () -> {
+                JwtService.VerifiedAccessToken v = accessTokenCache.resolveVerified(token);
+                return revocationService.isRevoked(v) ? null : v;
+            });
         } catch (Exception e) {
             sendUnauthorized(response, "invalid token");
+            return;
+        }
+        if (verified == null) {
+            sendUnauthorized(response, "token revoked");
+            return;
+        }
+        request.setAttribute(REQUEST_ATTR_USER_ID, verified.userId());
+        request.setAttribute(REQUEST_ATTR_ACCESS_TOKEN, verified);
+        if (verified.profile() != null) {
+            request.setAttribute(REQUEST_ATTR_PROFILE, verified.profile());
         }
+        filterChain.doFilter(request, response);
     }
 
     private void sendUnauthorized(HttpServletResponse response, String message) throws IOException {
@@ -0,0 +1,14 @@
+package com.scube.society_app_backend.security;
+
+/** Thrown when a client exceeds a configured request limit; mapped to 429 with Retry-After. */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super("rate_limited");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
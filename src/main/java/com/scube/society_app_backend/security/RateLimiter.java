@@ -0,0 +1,20 @@
+package com.scube.society_app_backend.security;
+
+/**
+ * Counts requests per key against a token-bucket limit. The in-process {@link InMemoryRateLimiter} is the
+ * default ({@code app.auth.rate-limit.backend=memory}); multi-replica deployments can provide a shared
+ * implementation (e.g. backed by Redis) under a different backend name.
+ */
+public interface RateLimiter {
+
+    /** Try to take one permit for key; never blocks. */
+    Decision tryAcquire(String key, Limit limit);
+
+    /** capacity permits, refilled evenly over periodSeconds. */
+    record Limit(int capacity, long periodSeconds) {}
+
+    /** retryAfterSeconds is 0 when allowed. */
+    record Decision(boolean allowed, long retryAfterSeconds) {
+        public static final Decision ALLOWED = new Decision(true, 0);
+    }
+}
@@ -0,0 +1,160 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Takes SMS sends off the request thread: OTPs are queued (bounded) and sent by a small worker pool,
+ * so 2Factor latency no longer shows up in /auth/otp/request. When the queue is full the configured
+ * policy applies: {@code caller-runs} (send inline), {@code drop} (log only) or {@code reject}
+ * ({@link SmsQueueFullException}). Concurrent calls to the provider are capped separately.
+ * Workers are virtual threads when {@code spring.threads.virtual.enabled} is set.
+ */
+@Component
+@Primary
+public class AsyncSmsSender implements SmsSender {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncSmsSender.class);
+
+    static final String POLICY_CALLER_RUNS = "caller-runs";
+    static final String POLICY_DROP = "drop";
+    static final String POLICY_REJECT = "reject";
+
+    private final SmsSender delegate;
+    private final AuthMetrics metrics;
+    private final boolean async;
+    private final String queueFullPolicy;
+    private final int batchSize;
+    private final BlockingQueue<SmsJob> queue;
+    private final Semaphore providerPermits;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public AsyncSmsSender(DefaultSmsSender delegate, AuthProperties authProperties, AuthMetrics metrics,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        AuthProperties.Sms sms = authProperties.getSms();
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.async = sms.isAsyncEnabled();
+        this.queueFullPolicy = sms.getQueueFullPolicy();
+        this.batchSize = Math.max(1, sms.getWorkerBatchSize());
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, sms.getQueueCapacity()));
+        this.providerPermits = new Semaphore(Math.max(1, sms.getProviderMaxConcurrency()));
+        if (async) {
+            Thread.Builder builder = virtualThreads
+                    ? Thread.ofVirtual().name("sms-dispatch-", 0)
+                    : Thread.ofPlatform().daemon().name("sms-dispatch-", 0);
+            for (int i = 0; i < Math.max(1, sms.getWorkers()); i++) {
+                workers.add(builder.start(this::workLoop));
+            }
+        }
+    }
+
+    @Override
+    public void sendOtp(String phone, String code, int expiryMin) {
+        SmsJob job = new SmsJob(phone, code, expiryMin);
+        if (!async) {
+            send(job);
+            return;
+        }
+        if (queue.offer(job)) {
+            return;
+        }
+        switch (queueFullPolicy) {
+            case POLICY_DROP -> {
+                dropped.increment();
+                log.warn("[OTP] SMS queue full, dropping send. phone={}", phone);
+            }
+            case POLICY_REJECT -> {
+                rejected.increment();
+                throw new SmsQueueFullException();
+            }
+            default -> send(job);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Thread t : workers) {
+            t.interrupt();
+        }
+        for (Thread t : workers) {
+            t.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        List<SmsJob> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(this::send);
+    }
+
+    public int getQueueDepth() { return queue.size(); }
+    public long getSent() { return sent.sum(); }
+    public long getFailed() { return failed.sum(); }
+    public long getDropped() { return dropped.sum(); }
+    public long getRejected() { return rejected.sum(); }
+
+    private void workLoop() {
+        List<SmsJob> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                SmsJob first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                for (SmsJob job : batch) {
+                    send(job);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(SmsJob job) {
+        boolean acquired = false;
+        long start = System.nanoTime();
+        try {
+            providerPermits.acquire();
+            acquired = true;
+            start = System.nanoTime();
+            delegate.sendOtp(job.phone(), job.code(), job.expiryMin());
+            sent.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.increment();
+        } catch (SmsDeliveryException e) {
+            failed.increment(); // already logged, with the OTP fallback, by the delegate
+        } catch (Exception e) {
+            failed.increment();
+            log.warn("[OTP] SMS send failed: {}", e.getMessage());
+        } finally {
+            if (acquired) {
+                providerPermits.release();
+                metrics.recordNanos(AuthMetrics.Stage.SMS_SEND, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private record SmsJob(String phone, String code, int expiryMin) {}
+}
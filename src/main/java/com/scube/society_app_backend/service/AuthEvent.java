@@ -0,0 +1,29 @@
+package com.scube.society_app_backend.service;
+
+import java.util.UUID;
+
+/**
+ * One auth event as captured on the request thread: no formatting or normalization there, the writer does that.
+ * phone is the raw input (the writer stores its phone key); detail is the failure reason, if any.
+ */
+public record AuthEvent(Type type, long occurredAtMillis, UUID userId, String phone, String clientIp, String detail) {
+
+    public enum Type {
+        OTP_REQUESTED("otp_requested"),
+        OTP_REJECTED("otp_rejected"),
+        LOGIN_SUCCEEDED("login_succeeded"),
+        LOGIN_FAILED("login_failed"),
+        TOKEN_REFRESHED("token_refreshed"),
+        REFRESH_FAILED("refresh_failed"),
+        PROFILE_UPDATED("profile_updated");
+
+        private final String tag;
+
+        Type(String tag) {
+            this.tag = tag;
+        }
+
+        /** Value of auth_events.event_type. */
+        public String tag() { return tag; }
+    }
+}
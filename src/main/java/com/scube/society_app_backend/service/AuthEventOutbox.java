@@ -0,0 +1,195 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.entity.TimeOrderedUuidGenerator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Auth events for analytics and audit, kept off the request path: publishing is one CAS into a lock-free
+ * {@link AuthEventRing}, and a single background writer drains it in batches into the partitioned
+ * {@code auth_events} table (V7 migration). Best effort: when the ring is full the new event is dropped, or with
+ * full-policy=block the caller waits up to block-timeout-ms first; a failed batch is dropped. Both are counted.
+ * Lag (age of the oldest event not yet written) and written / dropped counts are exported via MetricsConfig.
+ */
+@Component
+public class AuthEventOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthEventOutbox.class);
+
+    static final String POLICY_DROP = "drop";
+    static final String POLICY_BLOCK = "block";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO auth_events (id, occurred_at, event_type, user_id, phone_key, client_ip, detail)"
+                    + " VALUES (?, ?, ?, ?, ?, ?::inet, ?)";
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PhoneNormalizer phoneNormalizer;
+    private final boolean enabled;
+    private final AuthEventRing ring;
+    private final long blockTimeoutNanos;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Thread writer;
+    private volatile boolean running = true;
+    /** occurredAt of the oldest event in the batch being written; 0 between batches. */
+    private volatile long writingSinceMillis;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+
+    public AuthEventOutbox(JdbcTemplate jdbcTemplate, PhoneNormalizer phoneNormalizer, AuthProperties authProperties) {
+        AuthProperties.Events events = authProperties.getEvents();
+        this.jdbcTemplate = jdbcTemplate;
+        this.phoneNormalizer = phoneNormalizer;
+        this.enabled = events.isEnabled();
+        this.ring = new AuthEventRing(events.getBufferCapacity());
+        this.blockTimeoutNanos = POLICY_BLOCK.equals(events.getFullPolicy())
+                ? TimeUnit.MILLISECONDS.toNanos(Math.max(0, events.getBlockTimeoutMs())) : 0;
+        this.batchSize = Math.max(1, events.getBatchSize());
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, events.getFlushIntervalMs()));
+        this.writer = enabled ? Thread.ofPlatform().daemon().name("auth-event-writer").start(this::writeLoop) : null;
+    }
+
+    public void otpRequested(String clientIp, String phone) {
+        publish(AuthEvent.Type.OTP_REQUESTED, null, phone, clientIp, null);
+    }
+
+    public void otpRejected(String clientIp, String phone, String reason) {
+        publish(AuthEvent.Type.OTP_REJECTED, null, phone, clientIp, reason);
+    }
+
+    public void loginSucceeded(String clientIp, String phone, UUID userId) {
+        publish(AuthEvent.Type.LOGIN_SUCCEEDED, userId, phone, clientIp, null);
+    }
+
+    public void loginFailed(String clientIp, String phone, String reason) {
+        publish(AuthEvent.Type.LOGIN_FAILED, null, phone, clientIp, reason);
+    }
+
+    public void tokenRefreshed(String clientIp, UUID userId) {
+        publish(AuthEvent.Type.TOKEN_REFRESHED, userId, null, clientIp, null);
+    }
+
+    public void refreshFailed(String clientIp, String reason) {
+        publish(AuthEvent.Type.REFRESH_FAILED, null, null, clientIp, reason);
+    }
+
+    public void profileUpdated(String clientIp, UUID userId) {
+        publish(AuthEvent.Type.PROFILE_UPDATED, userId, null, clientIp, null);
+    }
+
+    /** Write everything published so far; for shutdown and tests. */
+    public void flush() {
+        int drained;
+        do {
+            drained = writeBatch();
+        } while (drained > 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    public int getBufferDepth() { return ring.size(); }
+    public int getBufferCapacity() { return ring.capacity(); }
+    public long getPublished() { return published.sum(); }
+    public long getWritten() { return written.sum(); }
+    public long getDropped() { return dropped.sum(); }
+    public long getFailed() { return failed.sum(); }
+    public long getBlocked() { return blocked.sum(); }
+
+    /** Age of the oldest event not yet written, in ms; 0 when caught up. */
+    public long getLagMillis() {
+        long oldest = writingSinceMillis;
+        AuthEvent next = ring.peek();
+        if (next != null && (oldest == 0 || next.occurredAtMillis() < oldest)) {
+            oldest = next.occurredAtMillis();
+        }
+        return oldest == 0 ? 0 : Math.max(0, System.currentTimeMillis() - oldest);
+    }
+
+    private void publish(AuthEvent.Type type, UUID userId, String phone, String clientIp, String detail) {
+        if (!enabled) {
+            return;
+        }
+        AuthEvent event = new AuthEvent(type, System.currentTimeMillis(), userId, phone, clientIp, detail);
+        if (ring.offer(event)) {
+            published.increment();
+            return;
+        }
+        if (blockTimeoutNanos > 0) {
+            LockSupport.unpark(writer);
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (ring.offer(event)) {
+                    published.increment();
+                    blocked.increment();
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+    }
+
+    private void writeLoop() {
+        while (running) {
+            if (writeBatch() == 0) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+    }
+
+    /** Drains and writes one batch. Synchronized because the ring allows one consumer at a time. */
+    private synchronized int writeBatch() {
+        List<AuthEvent> batch = new ArrayList<>(batchSize);
+        if (ring.drainTo(batch, batchSize) == 0) {
+            return 0;
+        }
+        writingSinceMillis = batch.get(0).occurredAtMillis();
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (AuthEvent event : batch) {
+            long phoneKey = event.phone() != null ? phoneNormalizer.toKey(event.phone()) : PhoneNormalizer.INVALID;
+            rows.add(new Object[]{TimeOrderedUuidGenerator.next(), new Timestamp(event.occurredAtMillis()),
+                    event.type().tag(), event.userId(), phoneKey != PhoneNormalizer.INVALID ? phoneKey : null,
+                    event.clientIp(), event.detail()});
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            written.add(batch.size());
+        } catch (Exception e) {
+            failed.add(batch.size());
+            log.warn("[auth-events] batch insert failed, dropped {} events: {}", batch.size(), e.getMessage());
+        } finally {
+            writingSinceMillis = 0;
+        }
+        return batch.size();
+    }
+}
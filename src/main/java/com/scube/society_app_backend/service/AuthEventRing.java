@@ -0,0 +1,72 @@
+package com.scube.society_app_backend.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer: many producers, one consumer. A producer claims a sequence number with one CAS
+ * (failing fast when the ring is full) and publishes by storing into that slot; the consumer takes slots in
+ * sequence order and stops at the first one not yet published, so events come out in claim order.
+ */
+final class AuthEventRing {
+
+    private final AtomicReferenceArray<AuthEvent> slots;
+    private final int mask;
+    /** Next sequence to claim (producers). */
+    private final AtomicLong tail = new AtomicLong();
+    /** Next sequence to take; written only by the consumer. */
+    private final AtomicLong head = new AtomicLong();
+
+    AuthEventRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /** False if the ring is full; never blocks. */
+    boolean offer(AuthEvent event) {
+        long seq;
+        do {
+            seq = tail.get();
+            if (seq - head.get() >= slots.length()) {
+                return false;
+            }
+        } while (!tail.compareAndSet(seq, seq + 1));
+        // The consumer cleared this slot before moving head past it, so it is free
+        slots.set((int) seq & mask, event);
+        return true;
+    }
+
+    /** Consumer only: moves up to max published events into out, oldest first. */
+    int drainTo(List<AuthEvent> out, int max) {
+        long seq = head.get();
+        int n = 0;
+        while (n < max) {
+            int index = (int) seq & mask;
+            AuthEvent event = slots.get(index);
+            if (event == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            out.add(event);
+            seq++;
+            n++;
+        }
+        head.lazySet(seq);
+        return n;
+    }
+
+    /** Oldest event not yet taken, or null; a racy read for metrics. */
+    AuthEvent peek() {
+        return slots.get((int) head.get() & mask);
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,60 @@
+package com.scube.society_app_backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per-stage latency for the auth pipeline, published as {@code auth.stage.duration{stage=...}} with
+ * histogram buckets, so p50/p99/p999 are aggregated server-side across replicas (histogram_quantile).
+ * Timers are created once, so recording is a map lookup plus a lock-free bucket increment.
+ */
+@Component
+public class AuthMetrics {
+
+    public enum Stage {
+        OTP_STORE("otp_store"),
+        OTP_CONSUME("otp_consume"),
+        USER_RESOLVE("user_resolve"),
+        TOKEN_SIGN("token_sign"),
+        REFRESH_ROTATE("refresh_rotate"),
+        REFRESH_PERSIST("refresh_persist"),
+        SMS_SEND("sms_send"),
+        JWT_VALIDATE("jwt_validate");
+
+        private final String tag;
+
+        Stage(String tag) { this.tag = tag; }
+
+        public String tag() { return tag; }
+    }
+
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+
+    public AuthMetrics(MeterRegistry registry) {
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, Timer.builder("auth.stage.duration")
+                    .description("Latency of one stage of the auth pipeline")
+                    .tag("stage", stage.tag())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    public <T> T record(Stage stage, Supplier<T> work) {
+        return timers.get(stage).record(work);
+    }
+
+    public void record(Stage stage, Runnable work) {
+        timers.get(stage).record(work);
+    }
+
+    public void recordNanos(Stage stage, long nanos) {
+        timers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -2,14 +2,13 @@ package com.scube.society_app_backend.service;
 
 import com.scube.society_app_backend.dto.LoginResponse;
 import com.scube.society_app_backend.dto.UserResponse;
-import com.scube.society_app_backend.entity.OtpVerification;
 import com.scube.society_app_backend.entity.RefreshToken;
 import com.scube.society_app_backend.entity.User;
-import com.scube.society_app_backend.repository.OtpVerificationRepository;
 import com.scube.society_app_backend.repository.RefreshTokenRepository;
 import com.scube.society_app_backend.repository.UserRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -18,101 +17,179 @@ import java.util.UUID;
 @Service
 public class AuthService {
 
+    private static final String INVALID_REFRESH_TOKEN = "invalid_or_expired_refresh_token";
+
     private final UserRepository userRepository;
-    private final OtpVerificationRepository otpVerificationRepository;
+    private final OtpStore otpStore;
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtService jwtService;
+    private final AuthMetrics metrics;
+    private final UserProfileCache profileCache;
+    private final TokenRevocationService revocationService;
+    private final PhoneNormalizer phoneNormalizer;
+    private final RefreshTokenFilter refreshTokenFilter;
+    private final TransactionTemplate transactionTemplate;
 
     public AuthService(UserRepository userRepository,
-                       OtpVerificationRepository otpVerificationRepository,
+                       OtpStore otpStore,
                        RefreshTokenRepository refreshTokenRepository,
-                       JwtService jwtService) {
+                       JwtService jwtService,
+                       AuthMetrics metrics,
+                       UserProfileCache profileCache,
+                       TokenRevocationService revocationService,
+                       PhoneNormalizer phoneNormalizer,
+                       RefreshTokenFilter refreshTokenFilter,
+                       TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
-        this.otpVerificationRepository = otpVerificationRepository;
+        this.otpStore = otpStore;
         this.refreshTokenRepository = refreshTokenRepository;
         this.jwtService = jwtService;
+        this.metrics = metrics;
+        this.profileCache = profileCache;
+        this.revocationService = revocationService;
+        this.phoneNormalizer = phoneNormalizer;
+        this.refreshTokenFilter = refreshTokenFilter;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Transactional
     public LoginResponse login(String phone, String otp) {
-        String normalizedPhone = normalizePhone(phone);
         String code = otp != null ? otp.trim() : "";
-        if (normalizedPhone.isEmpty() || code.isEmpty()) {
+        if (phone == null || phone.isBlank() || code.isEmpty()) {
             throw new IllegalArgumentException("phone and otp required");
         }
+        long phoneKey = phoneNormalizer.toKey(phone);
+        if (phoneKey == PhoneNormalizer.INVALID) {
+            throw new IllegalArgumentException("invalid phone");
+        }
 
-        Optional<OtpVerification> otpOpt = otpVerificationRepository
-                .findByPhoneAndCodeAndUsedAtIsNullAndExpiresAtAfter(normalizedPhone, code, Instant.now());
-        OtpVerification otpRow = otpOpt.orElseThrow(() -> new IllegalArgumentException("invalid_or_expired_otp"));
-
-        otpRow.setUsedAt(Instant.now());
-        otpVerificationRepository.save(otpRow);
-
-        User user = userRepository.findByPhone(normalizedPhone)
-                .orElseGet(() -> createUserByPhone(normalizedPhone));
+        boolean consumed = metrics.record(AuthMetrics.Stage.OTP_CONSUME,
+                () -> otpStore.consume(phoneKey, code, Instant.now()));
+        if (!consumed) {
+            throw new IllegalArgumentException("invalid_or_expired_otp");
+        }
 
-        String accessToken = jwtService.issueAccessToken(user.getId());
-        JwtService.RefreshTokenData refreshData = jwtService.createRefreshToken();
+        User user = metrics.record(AuthMetrics.Stage.USER_RESOLVE, () -> userRepository.upsertByPhoneKey(phoneKey));
 
-        RefreshToken refreshEntity = new RefreshToken();
-        refreshEntity.setUserId(user.getId());
-        refreshEntity.setTokenHash(refreshData.tokenHash());
-        refreshEntity.setExpiresAt(refreshData.expiresAt());
-        refreshTokenRepository.save(refreshEntity);
+        IssuedTokens tokens = metrics.record(AuthMetrics.Stage.TOKEN_SIGN, () -> issueTokens(user));
+        persistRefreshToken(user.getId(), tokens.refresh());
 
         return new LoginResponse(
-                accessToken,
-                refreshData.rawToken(),
+                tokens.accessToken(),
+                tokens.refresh().rawToken(),
                 jwtService.getAccessTtlSeconds(),
                 toUserResponse(user)
         );
     }
 
-    @Transactional
+    /**
+     * Rotate a refresh token. A token the refresh-token filter knows is not live is rejected before a
+     * transaction (and a pooled connection) is even started.
+     */
     public LoginResponse refresh(String refreshTokenRaw) {
         String raw = refreshTokenRaw != null ? refreshTokenRaw.trim() : "";
         if (raw.isEmpty()) {
             throw new IllegalArgumentException("refresh_token required");
         }
+        byte[] digest = JwtService.hashRefreshToken(raw);
+        if (!refreshTokenFilter.mightBeLive(raw, digest)) {
+            throw new IllegalArgumentException(INVALID_REFRESH_TOKEN);
+        }
+        return transactionTemplate.execute(status -> rotate(digest));
+    }
 
-        String hash = JwtService.hashRefreshToken(raw);
-        Optional<RefreshToken> tokenOpt = refreshTokenRepository
-                .findByTokenHashAndRevokedAtIsNullAndExpiresAtAfter(hash, Instant.now());
-        RefreshToken token = tokenOpt.orElseThrow(() -> new IllegalArgumentException("invalid_or_expired_refresh_token"));
-
-        token.setRevokedAt(Instant.now());
-        refreshTokenRepository.save(token);
+    private LoginResponse rotate(byte[] digest) {
+        RefreshToken token = metrics.record(AuthMetrics.Stage.REFRESH_ROTATE,
+                        () -> revokeLive(digest))
+                .orElseThrow(() -> new IllegalArgumentException(INVALID_REFRESH_TOKEN));
 
-        String accessToken = jwtService.issueAccessToken(token.getUserId());
-        JwtService.RefreshTokenData newRefresh = jwtService.createRefreshToken();
+        User user = metrics.record(AuthMetrics.Stage.USER_RESOLVE,
+                () -> userRepository.findById(token.getUserId()).orElseThrow());
 
-        RefreshToken newEntity = new RefreshToken();
-        newEntity.setUserId(token.getUserId());
-        newEntity.setTokenHash(newRefresh.tokenHash());
-        newEntity.setExpiresAt(newRefresh.expiresAt());
-        refreshTokenRepository.save(newEntity);
+        IssuedTokens tokens = metrics.record(AuthMetrics.Stage.TOKEN_SIGN, () -> issueTokens(user));
+        persistRefreshToken(user.getId(), tokens.refresh());
 
-        User user = userRepository.findById(token.getUserId()).orElseThrow();
         return new LoginResponse(
-                accessToken,
-                newRefresh.rawToken(),
+                tokens.accessToken(),
+                tokens.refresh().rawToken(),
                 jwtService.getAccessTtlSeconds(),
                 toUserResponse(user)
         );
     }
 
-    private User createUserByPhone(String phone) {
-        User user = new User();
-        user.setPhone(phone);
-        user.setName("");
-        return userRepository.save(user);
+    /**
+     * Log out one session: deny the presented access token until it expires and, if given, revoke the refresh
+     * token issued with it. A refresh token that is unknown, already revoked or another user's is ignored (logout
+     * is idempotent).
+     */
+    @Transactional
+    public void logout(JwtService.VerifiedAccessToken accessToken, String refreshTokenRaw) {
+        revocationService.revokeToken(accessToken);
+        String raw = refreshTokenRaw != null ? refreshTokenRaw.trim() : "";
+        if (!raw.isEmpty()) {
+            byte[] digest = JwtService.hashRefreshToken(raw);
+            if (refreshTokenFilter.mightBeLive(raw, digest)) {
+                Instant now = Instant.now();
+                refreshTokenRepository.revokeLiveForUser(digest, accessToken.userId(), now,
+                        now.minus(jwtService.getRefreshTtl()));
+            }
+        }
+    }
+
+    /** Sign out all devices: every access token issued so far is denied and every refresh token revoked. */
+    @Transactional
+    public void logoutAll(UUID userId) {
+        Instant now = Instant.now();
+        revocationService.revokeAllForUser(userId, now);
+        refreshTokenRepository.revokeAllLive(userId, now, now.minus(jwtService.getRefreshTtl()));
+    }
+
+    /** Read-only: served by a read replica when replica routing is enabled. */
+    @Transactional(readOnly = true)
+    public Optional<UserResponse> findUser(UUID userId) {
+        return userRepository.findById(userId).map(AuthService::toUserResponse);
+    }
+
+    /** Same lookup pinned to the primary, for a replica miss on a user created moments ago. */
+    @Transactional
+    public Optional<UserResponse> findUserOnPrimary(UUID userId) {
+        return userRepository.findById(userId).map(AuthService::toUserResponse);
+    }
+
+    /**
+     * Read-write transaction, so the row is read from (and written to) the primary. Bumps profile_version so
+     * access tokens carrying the old profile claims are recognised as stale. The cache is updated after commit.
+     */
+    @Transactional
+    public Optional<UserResponse> updateProfileName(UUID userId, String fullName) {
+        return userRepository.findById(userId).map(user -> {
+            user.setName(fullName);
+            user.setProfileVersion(user.getProfileVersion() + 1);
+            UserResponse response = toUserResponse(userRepository.save(user));
+            profileCache.writeThrough(userId, response, user.getProfileVersion());
+            return response;
+        });
+    }
+
+    private IssuedTokens issueTokens(User user) {
+        JwtService.ProfileClaims profile = jwtService.isProfileClaimsEnabled()
+                ? new JwtService.ProfileClaims(user.getPhone(), user.getName(), user.getProfileVersion())
+                : null;
+        return new IssuedTokens(jwtService.issueAccessToken(user.getId(), profile), jwtService.createRefreshToken());
     }
 
-    private static String normalizePhone(String phone) {
-        if (phone == null) return "";
-        String s = phone.trim();
-        if (s.startsWith("+")) s = s.substring(1).trim();
-        return s;
+    private Optional<RefreshToken> revokeLive(byte[] digest) {
+        Instant now = Instant.now();
+        return refreshTokenRepository.revokeLive(digest, now, now.minus(jwtService.getRefreshTtl()));
+    }
+
+    /** Flushed here (not at commit) so refresh_persist reflects the actual insert. */
+    private void persistRefreshToken(UUID userId, JwtService.RefreshTokenData refreshData) {
+        RefreshToken entity = new RefreshToken();
+        entity.setUserId(userId);
+        entity.setTokenDigest(refreshData.tokenDigest());
+        entity.setExpiresAt(refreshData.expiresAt());
+        metrics.record(AuthMetrics.Stage.REFRESH_PERSIST, () -> refreshTokenRepository.saveAndFlush(entity));
     }
 
     public static UserResponse toUserResponse(User user) {
@@ -122,4 +199,6 @@ public class AuthService {
                 user.getName() != null ? user.getName() : ""
         );
     }
+
+    private record IssuedTokens(String accessToken, JwtService.RefreshTokenData refresh) {}
 }
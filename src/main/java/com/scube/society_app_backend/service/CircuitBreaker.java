@@ -0,0 +1,72 @@
+package com.scube.society_app_backend.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal consecutive-failure circuit breaker for an outbound dependency. After
+ * {@code failureThreshold} failures in a row it opens for {@code openMillis}; then one trial call is
+ * let through (half-open) and its outcome closes or re-opens the circuit.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = Math.max(0, openMillis);
+        this.clock = clock;
+    }
+
+    /** Returns true if a call may proceed; callers must report the outcome via onSuccess/onFailure. */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() < openUntil) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openUntil = clock.getAsLong() + openMillis;
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() >= openUntil) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+}
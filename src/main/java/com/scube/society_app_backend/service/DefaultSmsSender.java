@@ -1,51 +1,104 @@
 package com.scube.society_app_backend.service;
 
 import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.config.RestTemplateConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.net.URI;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Sends OTP via 2Factor.in SMS API.
  * Official: POST https://2factor.in/API/V1/{api_key}/SMS/{phone}/{otp} or .../{otp}/{template_name}
+ * Transient failures (I/O, 5xx) are retried with jittered backoff within a {@link RetryBudget};
+ * a {@link CircuitBreaker} skips the provider entirely while it keeps failing. Either way the OTP is logged
+ * as a fallback and {@link SmsDeliveryException} is thrown, so the caller counts the send as failed.
  */
 @Component
 public class DefaultSmsSender implements SmsSender {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultSmsSender.class);
-    private static final String TWO_FACTOR_BASE = "https://2factor.in/API/V1";
+    private static final int RETRY_BUDGET_MAX_TOKENS = 10;
 
     private final AuthProperties authProperties;
     private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
 
-    public DefaultSmsSender(AuthProperties authProperties, RestTemplate restTemplate) {
+    public DefaultSmsSender(AuthProperties authProperties,
+                            @Qualifier(RestTemplateConfig.SMS_REST_TEMPLATE) RestTemplate restTemplate) {
+        AuthProperties.Sms sms = authProperties.getSms();
         this.authProperties = authProperties;
         this.restTemplate = restTemplate;
+        this.circuitBreaker = new CircuitBreaker(sms.getBreakerFailureThreshold(), sms.getBreakerOpenMs());
+        this.retryBudget = new RetryBudget(sms.getRetryBudgetRatio(), RETRY_BUDGET_MAX_TOKENS);
     }
 
     @Override
     public void sendOtp(String phone, String code, int expiryMin) {
         AuthProperties.Sms sms = authProperties.getSms();
         if (sms.isTwoFactorConfigured()) {
+            if (!circuitBreaker.tryAcquire()) {
+                log.warn("[OTP] 2Factor circuit open; falling back to log. phone={} code={}", phone, code);
+                logOtp(phone, code, expiryMin);
+                throw new SmsDeliveryException("2Factor circuit open", null);
+            }
             try {
-                sendVia2Factor(phone, code, sms);
+                sendWithRetry(phone, code, sms);
+                circuitBreaker.onSuccess();
             } catch (Exception e) {
+                circuitBreaker.onFailure();
                 log.warn("[OTP] 2Factor send failed: {}; falling back to log. phone={} code={}", e.getMessage(), phone, code);
                 logOtp(phone, code, expiryMin);
+                throw new SmsDeliveryException("2Factor send failed: " + e.getMessage(), e);
             }
             return;
         }
         logOtp(phone, code, expiryMin);
     }
 
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private void sendWithRetry(String phone, String code, AuthProperties.Sms sms) {
+        retryBudget.recordRequest();
+        int maxAttempts = Math.max(1, sms.getMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sendVia2Factor(phone, code, sms);
+                return;
+            } catch (ResourceAccessException | HttpServerErrorException e) {
+                if (attempt >= maxAttempts || !retryBudget.tryWithdraw()) {
+                    throw e;
+                }
+                sleepBackoff(attempt, sms);
+            }
+        }
+    }
+
+    /** Full jitter: uniform in [0, min(max, base * 2^(attempt-1))]. */
+    private static void sleepBackoff(int attempt, AuthProperties.Sms sms) {
+        long ceiling = Math.min(sms.getRetryBackoffMaxMs(), sms.getRetryBackoffMs() << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted during SMS retry backoff", e);
+        }
+    }
+
     private void sendVia2Factor(String phone, String code, AuthProperties.Sms sms) {
-        String mobile = formatMobileIndia(phone);
-        String path = TWO_FACTOR_BASE + "/" + sms.getTwoFactorApiKey() + "/SMS/" + mobile + "/" + code;
+        // phone is already canonical E.164 digits (country code included), which is what 2Factor expects
+        String path = sms.getTwoFactorBaseUrl() + "/" + sms.getTwoFactorApiKey() + "/SMS/" + phone + "/" + code;
         if (sms.getTwoFactorTemplateName() != null && !sms.getTwoFactorTemplateName().isBlank()) {
             path = path + "/" + sms.getTwoFactorTemplateName().trim();
         }
@@ -59,16 +112,4 @@ public class DefaultSmsSender implements SmsSender {
         log.info("[OTP] phone={} code={} (valid for {} min) — set TWO_FACTOR_API_KEY to send SMS",
                 phone, code, expiryMin);
     }
-
-    /** Digits only; 10-digit Indian number gets 91 prefix. */
-    private static String formatMobileIndia(String phone) {
-        String digits = phone != null ? phone.replaceAll("\\D", "") : "";
-        if (digits.length() == 10 && "6789".indexOf(digits.charAt(0)) >= 0) {
-            return "91" + digits;
-        }
-        if (digits.length() >= 12 && digits.startsWith("91")) {
-            return digits;
-        }
-        return digits.length() >= 10 ? digits : "91" + digits;
-    }
 }
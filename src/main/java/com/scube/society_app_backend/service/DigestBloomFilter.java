@@ -0,0 +1,57 @@
+package com.scube.society_app_backend.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Bloom filter over SHA-256 digests. Digest bits are already uniform, so the probe positions come straight
+ * from the first 16 bytes (double hashing: h1 + i * h2) with no further hashing, and the bit count is a power
+ * of two so a position is a mask. No false negatives; false positives at about the rate it was sized for.
+ * <p>
+ * One writer thread; readers need no lock. Bits only ever go from 0 to 1, so a reader that saw a publication
+ * (volatile write) after some adds sees at least those bits, whatever it sees of later ones.
+ */
+final class DigestBloomFilter {
+
+    private static final VarHandle LONG_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final long MAX_BITS = 1L << 33;
+
+    private final long[] words;
+    private final long mask;
+    private final int hashes;
+
+    DigestBloomFilter(long expectedEntries, double falsePositiveRate) {
+        long n = Math.max(1, expectedEntries);
+        double p = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+        long bits = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        bits = Math.min(MAX_BITS, Math.max(64, Long.highestOneBit(bits - 1) << 1));
+        this.words = new long[(int) (bits >>> 6)];
+        this.mask = bits - 1;
+        this.hashes = (int) Math.max(1, Math.min(16, Math.round((double) bits / n * Math.log(2))));
+    }
+
+    void add(byte[] digest) {
+        long h1 = (long) LONG_BE.get(digest, 0);
+        long h2 = (long) LONG_BE.get(digest, 8) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & mask;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(byte[] digest) {
+        long h1 = (long) LONG_BE.get(digest, 0);
+        long h2 = (long) LONG_BE.get(digest, 8) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & mask;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long sizeBytes() { return (long) words.length * Long.BYTES; }
+    int hashCount() { return hashes; }
+}
@@ -0,0 +1,97 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.entity.TimeOrderedUuidGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps pending OTPs in a concurrent map keyed by phone key; verification is a single atomic
+ * check-and-consume with no DB round trip. Rows are still written to {@code otp_verifications}
+ * asynchronously by {@link OtpAuditWriter}.
+ * <p>
+ * State is per instance: with several replicas, OTP request and login for a phone must reach the same
+ * node (sticky routing), otherwise use the {@code jpa} store.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.auth.otp", name = "store", havingValue = "memory")
+public class InMemoryOtpStore implements OtpStore {
+
+    private final ConcurrentHashMap<Long, List<PendingOtp>> pending = new ConcurrentHashMap<>();
+    private final OtpAuditWriter auditWriter;
+    private final int maxPendingPerPhone;
+
+    public InMemoryOtpStore(OtpAuditWriter auditWriter, AuthProperties authProperties) {
+        this.auditWriter = auditWriter;
+        this.maxPendingPerPhone = Math.max(1, authProperties.getOtp().getMaxPendingPerPhone());
+    }
+
+    @Override
+    public void save(long phoneKey, String code, Instant expiresAt) {
+        Instant now = Instant.now();
+        PendingOtp otp = new PendingOtp(TimeOrderedUuidGenerator.next(), code, expiresAt);
+        pending.compute(phoneKey, (p, current) -> {
+            List<PendingOtp> next = live(current, now);
+            if (next.size() >= maxPendingPerPhone) {
+                next.remove(0);
+            }
+            next.add(otp);
+            return List.copyOf(next);
+        });
+        auditWriter.recordIssued(otp.id(), phoneKey, code, expiresAt, now);
+    }
+
+    @Override
+    public boolean consume(long phoneKey, String code, Instant now) {
+        PendingOtp[] used = new PendingOtp[1];
+        pending.computeIfPresent(phoneKey, (p, current) -> {
+            List<PendingOtp> next = live(current, now);
+            for (int i = 0; i < next.size(); i++) {
+                if (next.get(i).code().equals(code)) {
+                    used[0] = next.remove(i);
+                    break;
+                }
+            }
+            return next.isEmpty() ? null : List.copyOf(next);
+        });
+        if (used[0] == null) {
+            return false;
+        }
+        auditWriter.recordUsed(used[0].id(), now);
+        return true;
+    }
+
+    /** Drop expired codes so phones that never log in don't stay in memory. */
+    @Scheduled(fixedDelayString = "${app.auth.otp.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        Instant now = Instant.now();
+        for (Map.Entry<Long, List<PendingOtp>> e : pending.entrySet()) {
+            pending.computeIfPresent(e.getKey(), (p, current) -> {
+                List<PendingOtp> next = live(current, now);
+                return next.isEmpty() ? null : List.copyOf(next);
+            });
+        }
+    }
+
+    public int size() { return pending.size(); }
+
+    private static List<PendingOtp> live(List<PendingOtp> current, Instant now) {
+        List<PendingOtp> next = new ArrayList<>(current != null ? current.size() + 1 : 1);
+        if (current != null) {
+            for (PendingOtp otp : current) {
+                if (otp.expiresAt().isAfter(now)) next.add(otp);
+            }
+        }
+        return next;
+    }
+
+    private record PendingOtp(UUID id, String code, Instant expiresAt) {}
+}
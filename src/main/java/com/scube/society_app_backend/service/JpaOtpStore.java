@@ -0,0 +1,41 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.entity.OtpVerification;
+import com.scube.society_app_backend.repository.OtpVerificationRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Stores OTPs directly in {@code otp_verifications}: one insert per send, one conditional update per login.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.auth.otp", name = "store", havingValue = "jpa", matchIfMissing = true)
+public class JpaOtpStore implements OtpStore {
+
+    private final OtpVerificationRepository otpVerificationRepository;
+    private final Duration expiry;
+
+    public JpaOtpStore(OtpVerificationRepository otpVerificationRepository, AuthProperties authProperties) {
+        this.otpVerificationRepository = otpVerificationRepository;
+        this.expiry = Duration.ofMinutes(authProperties.getOtp().getExpiryMin());
+    }
+
+    @Override
+    public void save(long phoneKey, String code, Instant expiresAt) {
+        OtpVerification otp = new OtpVerification();
+        otp.setPhone(Long.toString(phoneKey));
+        otp.setPhoneKey(phoneKey);
+        otp.setCode(code);
+        otp.setExpiresAt(expiresAt);
+        otpVerificationRepository.save(otp);
+    }
+
+    @Override
+    public boolean consume(long phoneKey, String code, Instant now) {
+        return otpVerificationRepository.consume(phoneKey, code, now, now.minus(expiry)).isPresent();
+    }
+}
@@ -0,0 +1,150 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keys for signing and verifying access tokens. HS256 uses the shared secret; ES256 / EdDSA use the configured
+ * key pairs: the active kid signs, every configured kid verifies (so tokens survive an overlapping rotation),
+ * and verification keys are found by kid in a HashMap. Without configured keys an ephemeral pair is generated,
+ * which only suits a single dev instance.
+ */
+public final class JwtKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    static final String HS256 = "HS256";
+    static final String ES256 = "ES256";
+    static final String EDDSA = "EdDSA";
+
+    private final String algorithm;
+    private final Key signingKey;
+    private final String signingKid;
+    private final Map<String, PublicKey> verificationKeys;
+    private final List<PublicJwk<?>> publicJwks;
+
+    private JwtKeyRing(String algorithm, Key signingKey, String signingKid,
+                       Map<String, PublicKey> verificationKeys, List<PublicJwk<?>> publicJwks) {
+        this.algorithm = algorithm;
+        this.signingKey = signingKey;
+        this.signingKid = signingKid;
+        this.verificationKeys = verificationKeys;
+        this.publicJwks = publicJwks;
+    }
+
+    public static JwtKeyRing from(AuthProperties.Jwt jwt) {
+        String algorithm = normalizeAlgorithm(jwt.getAlgorithm());
+        if (HS256.equals(algorithm)) {
+            String secret = jwt.getSecret();
+            if (secret == null || secret.length() < 32) {
+                throw new IllegalStateException("JWT_SECRET must be at least 32 characters");
+            }
+            return new JwtKeyRing(algorithm, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), null,
+                    Map.of(), List.of());
+        }
+        if (jwt.getKeys().isEmpty()) {
+            KeyPair pair = ES256.equals(algorithm)
+                    ? Jwts.SIG.ES256.keyPair().build() : Jwks.CRV.Ed25519.keyPair().build();
+            String kid = "ephemeral-" + UUID.randomUUID();
+            log.warn("[jwt] no {} keys configured; generated ephemeral key {} (tokens die with this instance)",
+                    algorithm, kid);
+            return new JwtKeyRing(algorithm, pair.getPrivate(), kid, Map.of(kid, pair.getPublic()),
+                    List.of(toJwk(kid, pair.getPublic(), algorithm)));
+        }
+
+        String keyFactoryAlgorithm = ES256.equals(algorithm) ? "EC" : "Ed25519";
+        Map<String, PublicKey> verification = new HashMap<>();
+        List<PublicJwk<?>> jwks = new ArrayList<>();
+        PrivateKey signing = null;
+        for (AuthProperties.JwtKey key : jwt.getKeys()) {
+            if (key.getKid() == null || key.getKid().isBlank() || key.getPublicKey() == null) {
+                throw new IllegalStateException("every app.auth.jwt.keys entry needs kid and public-key");
+            }
+            PublicKey publicKey = parsePublicKey(keyFactoryAlgorithm, key.getPublicKey());
+            if (verification.put(key.getKid(), publicKey) != null) {
+                throw new IllegalStateException("duplicate JWT kid " + key.getKid());
+            }
+            jwks.add(toJwk(key.getKid(), publicKey, algorithm));
+            if (key.getKid().equals(jwt.getActiveKid())) {
+                if (key.getPrivateKey() == null) {
+                    throw new IllegalStateException("active JWT kid " + key.getKid() + " has no private-key");
+                }
+                signing = parsePrivateKey(keyFactoryAlgorithm, key.getPrivateKey());
+            }
+        }
+        if (signing == null) {
+            throw new IllegalStateException("app.auth.jwt.active-kid must name one of app.auth.jwt.keys");
+        }
+        return new JwtKeyRing(algorithm, signing, jwt.getActiveKid(), Map.copyOf(verification), List.copyOf(jwks));
+    }
+
+    public boolean isAsymmetric() { return signingKid != null; }
+    public String getAlgorithm() { return algorithm; }
+    public Key getSigningKey() { return signingKey; }
+    /** kid header for new tokens; null for HS256. */
+    public String getSigningKid() { return signingKid; }
+    /** Public keys as JWKs, for /.well-known/jwks.json; empty for HS256. */
+    public List<PublicJwk<?>> getPublicJwks() { return publicJwks; }
+
+    /** Verification key for kid, or null if unknown. */
+    public PublicKey verificationKey(String kid) {
+        return kid != null ? verificationKeys.get(kid) : null;
+    }
+
+    private static String normalizeAlgorithm(String algorithm) {
+        String a = algorithm == null ? HS256 : algorithm.trim().toUpperCase(Locale.ROOT);
+        return switch (a) {
+            case HS256 -> HS256;
+            case ES256 -> ES256;
+            case "EDDSA", "ED25519" -> EDDSA;
+            default -> throw new IllegalStateException("unsupported app.auth.jwt.algorithm " + algorithm);
+        };
+    }
+
+    private static PublicJwk<?> toJwk(String kid, PublicKey publicKey, String algorithm) {
+        return Jwks.builder().key(publicKey).id(kid).publicKeyUse("sig").algorithm(algorithm).build();
+    }
+
+    private static PublicKey parsePublicKey(String keyFactoryAlgorithm, String pem) {
+        try {
+            return KeyFactory.getInstance(keyFactoryAlgorithm).generatePublic(new X509EncodedKeySpec(der(pem)));
+        } catch (Exception e) {
+            throw new IllegalStateException("invalid JWT public key", e);
+        }
+    }
+
+    private static PrivateKey parsePrivateKey(String keyFactoryAlgorithm, String pem) {
+        try {
+            return KeyFactory.getInstance(keyFactoryAlgorithm).generatePrivate(new PKCS8EncodedKeySpec(der(pem)));
+        } catch (Exception e) {
+            throw new IllegalStateException("invalid JWT private key", e);
+        }
+    }
+
+    /** PEM body or bare base64 DER to bytes. */
+    private static byte[] der(String pem) {
+        String base64 = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
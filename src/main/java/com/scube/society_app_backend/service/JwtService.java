@@ -2,16 +2,26 @@ package com.scube.society_app_backend.service;
 
 import com.scube.society_app_backend.config.AuthProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.Key;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -20,58 +30,126 @@ public class JwtService {
 
     private static final String CLAIM_TOKEN_TYPE = "tt";
     private static final String TOKEN_TYPE_ACCESS = "access";
+    private static final String CLAIM_PHONE = "ph";
+    private static final String CLAIM_NAME = "nm";
+    private static final String CLAIM_PROFILE_VERSION = "pv";
+    /** 4 bytes issue time + 32 random bytes, then the first 8 bytes of their HMAC-SHA256. */
+    private static final int REFRESH_TOKEN_MACED_BYTES = 4 + 32;
+    private static final int REFRESH_TOKEN_MAC_BYTES = 8;
+    private static final int REFRESH_TOKEN_LENGTH = 2 * (REFRESH_TOKEN_MACED_BYTES + REFRESH_TOKEN_MAC_BYTES);
+    /** Hex of 32 random bytes, issued before the time prefix; still live until they expire. */
+    private static final int LEGACY_REFRESH_TOKEN_LENGTH = 2 * 32;
 
-    private final SecretKey key;
+    private final JwtKeyRing keyRing;
+    /** Parsers are immutable and thread-safe; build once instead of per validation. */
+    private final JwtParser parser;
     private final int accessTtlMin;
     private final int refreshTtlDays;
+    private final boolean profileClaimsEnabled;
+    /** Mac instances are not thread-safe; one per thread, initialised once. */
+    private final ThreadLocal<Mac> refreshTokenMac;
 
     public JwtService(AuthProperties authProperties) {
         AuthProperties.Jwt jwt = authProperties.getJwt();
-        String secret = jwt.getSecret();
-        if (secret == null || secret.length() < 32) {
-            throw new IllegalStateException("JWT_SECRET must be at least 32 characters");
-        }
-        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.keyRing = JwtKeyRing.from(jwt);
+        this.parser = keyRing.isAsymmetric()
+                ? Jwts.parser().keyLocator(new KidLocator(keyRing)).build()
+                : Jwts.parser().verifyWith((SecretKey) keyRing.getSigningKey()).build();
         this.accessTtlMin = jwt.getAccessTtlMin();
         this.refreshTtlDays = jwt.getRefreshTtlDays();
+        this.profileClaimsEnabled = jwt.isProfileClaims();
+        String macSecret = jwt.getRefreshTokenMacSecret() != null && !jwt.getRefreshTokenMacSecret().isBlank()
+                ? jwt.getRefreshTokenMacSecret() : jwt.getSecret();
+        SecretKeySpec macKey = new SecretKeySpec(TokenCrypto.sha256("refresh-token-mac:" + macSecret), "HmacSHA256");
+        this.refreshTokenMac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(macKey);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 not available", e);
+            }
+        });
     }
 
     /** Issue a short-lived access token for the user. */
     public String issueAccessToken(UUID userId) {
+        return issueAccessToken(userId, null);
+    }
+
+    /** Issue an access token that also carries the user's profile (null profile = same as above). */
+    public String issueAccessToken(UUID userId, ProfileClaims profile) {
         Instant now = Instant.now();
         Instant exp = now.plusSeconds(TimeUnit.MINUTES.toSeconds(accessTtlMin));
         String sub = userId.toString();
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder();
+        if (keyRing.getSigningKid() != null) {
+            builder.header().keyId(keyRing.getSigningKid());
+        }
+        builder.id(newTokenId())
                 .subject(sub)
-                .claim(CLAIM_TOKEN_TYPE, TOKEN_TYPE_ACCESS)
+                .claim(CLAIM_TOKEN_TYPE, TOKEN_TYPE_ACCESS);
+        if (profile != null) {
+            builder.claim(CLAIM_PHONE, profile.phone())
+                    .claim(CLAIM_NAME, profile.name())
+                    .claim(CLAIM_PROFILE_VERSION, profile.version());
+        }
+        return builder
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(exp))
-                .signWith(key)
+                .signWith(keyRing.getSigningKey())
                 .compact();
     }
 
+    /** Whether login/refresh should embed profile claims (app.auth.jwt.profile-claims). */
+    public boolean isProfileClaimsEnabled() {
+        return profileClaimsEnabled;
+    }
+
+    /** Signing algorithm and public keys (JWKS) for other services that verify our tokens. */
+    public JwtKeyRing getKeyRing() {
+        return keyRing;
+    }
+
     /** Access token TTL in seconds (for expires_in in response). */
     public long getAccessTtlSeconds() {
         return TimeUnit.MINUTES.toSeconds(accessTtlMin);
     }
 
-    /** Create a new refresh token: returns raw token, its hash, and expiry. */
+    /** Refresh token TTL; a live refresh token was issued within it. */
+    public Duration getRefreshTtl() {
+        return Duration.ofDays(refreshTtlDays);
+    }
+
+    /**
+     * Create a new refresh token: returns raw token, its digest, and expiry. The raw token is hex of the issue
+     * time (4 bytes, Unix seconds) followed by 32 random bytes; see {@link #refreshTokenIssuedAt}.
+     */
     public RefreshTokenData createRefreshToken() {
-        byte[] bytes = new byte[32];
-        new java.security.SecureRandom().nextBytes(bytes);
-        String raw = bytesToHex(bytes);
-        String hash = hashRefreshToken(raw);
-        Instant expiresAt = Instant.now().plus(refreshTtlDays, java.time.temporal.ChronoUnit.DAYS);
-        return new RefreshTokenData(raw, hash, expiresAt);
+        return createRefreshToken(Instant.now());
+    }
+
+    RefreshTokenData createRefreshToken(Instant now) {
+        byte[] token = new byte[REFRESH_TOKEN_MACED_BYTES + REFRESH_TOKEN_MAC_BYTES];
+        System.arraycopy(TokenCrypto.randomBytes(32), 0, token, 4, 32);
+        long issuedAt = now.getEpochSecond();
+        for (int i = 0; i < 4; i++) {
+            token[i] = (byte) (issuedAt >>> (24 - 8 * i));
+        }
+        System.arraycopy(refreshTokenMac(token), 0, token, REFRESH_TOKEN_MACED_BYTES, REFRESH_TOKEN_MAC_BYTES);
+        String raw = TokenCrypto.toHex(token);
+        Instant expiresAt = now.plus(refreshTtlDays, java.time.temporal.ChronoUnit.DAYS);
+        return new RefreshTokenData(raw, hashRefreshToken(raw), expiresAt);
     }
 
     /** Validate access token and return user id; throws if invalid. */
     public UUID validateAccessToken(String token) {
-        Claims payload = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return verifyAccessToken(token).userId();
+    }
+
+    /** Validate access token and return user id with its expiry; throws if invalid. */
+    public VerifiedAccessToken verifyAccessToken(String token) {
+        Claims payload = parser.parseSignedClaims(token).getPayload();
         if (!TOKEN_TYPE_ACCESS.equals(payload.get(CLAIM_TOKEN_TYPE, String.class))) {
             throw new IllegalArgumentException("invalid access token");
         }
@@ -79,27 +157,119 @@ public class JwtService {
         if (sub == null || sub.isBlank()) {
             throw new IllegalArgumentException("invalid access token");
         }
-        return UUID.fromString(sub);
+        Date exp = payload.getExpiration();
+        if (exp == null) {
+            throw new IllegalArgumentException("invalid access token");
+        }
+        Date iat = payload.getIssuedAt();
+        return new VerifiedAccessToken(UUID.fromString(sub), exp.toInstant(), profileClaims(payload),
+                payload.getId(), iat != null ? iat.toInstant() : Instant.EPOCH);
+    }
+
+    /** 128 random bits, base64url: the jti a logout puts on the denylist. */
+    private static String newTokenId() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(TokenCrypto.randomBytes(16));
+    }
+
+    private static ProfileClaims profileClaims(Claims payload) {
+        Integer version = payload.get(CLAIM_PROFILE_VERSION, Integer.class);
+        if (version == null) {
+            return null;
+        }
+        return new ProfileClaims(payload.get(CLAIM_PHONE, String.class), payload.get(CLAIM_NAME, String.class), version);
+    }
+
+    /** Picks the verification key by the token's kid header: one HashMap lookup, unknown kids are rejected. */
+    private static final class KidLocator extends LocatorAdapter<Key> {
+        private final JwtKeyRing keyRing;
+
+        KidLocator(JwtKeyRing keyRing) {
+            this.keyRing = keyRing;
+        }
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            Key key = keyRing.verificationKey(header.getKeyId());
+            if (key == null) {
+                throw new UnsupportedJwtException("unknown signing key id");
+            }
+            return key;
+        }
+    }
+
+    /** SHA-256 of refresh token for DB storage (refresh_tokens.token_digest). */
+    public static byte[] hashRefreshToken(String raw) {
+        return TokenCrypto.sha256(raw);
+    }
+
+    /** Whether raw has the shape of a refresh token this service issued (current or legacy format). */
+    public static boolean isWellFormedRefreshToken(String raw) {
+        if (raw.length() != REFRESH_TOKEN_LENGTH && raw.length() != LEGACY_REFRESH_TOKEN_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < raw.length(); i++) {
+            if (!HexFormat.isHexDigit(raw.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Issued before the time prefix: 64 hex characters of random bytes. */
+    public static boolean isLegacyRefreshToken(String raw) {
+        return raw.length() == LEGACY_REFRESH_TOKEN_LENGTH;
     }
 
-    /** SHA-256 hash of refresh token for DB storage. */
-    public static String hashRefreshToken(String raw) {
+    /**
+     * Whether the issue time and random part of a (well-formed, non-legacy) refresh token carry this service's
+     * MAC, i.e. {@link #refreshTokenIssuedAt} can be trusted. Keyed by refresh-token-mac-secret (default: derived
+     * from secret); changing it rejects every outstanding refresh token.
+     */
+    public boolean hasAuthenticIssueTime(String raw) {
+        if (raw.length() != REFRESH_TOKEN_LENGTH) {
+            return false;
+        }
+        byte[] token;
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(raw.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-256 not available", e);
+            token = HexFormat.of().parseHex(raw);
+        } catch (IllegalArgumentException e) {
+            return false;
         }
+        byte[] expected = refreshTokenMac(token);
+        return MessageDigest.isEqual(
+                Arrays.copyOf(expected, REFRESH_TOKEN_MAC_BYTES),
+                Arrays.copyOfRange(token, REFRESH_TOKEN_MACED_BYTES, token.length));
     }
 
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder(bytes.length * 2);
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
+    /**
+     * Issue time (Unix seconds) a refresh token carries, or -1 if it has none (legacy tokens). Only
+     * authenticated together with {@link #hasAuthenticIssueTime}; only good for deciding where to look.
+     */
+    public static long refreshTokenIssuedAt(String raw) {
+        if (raw.length() != REFRESH_TOKEN_LENGTH) {
+            return -1;
         }
-        return sb.toString();
+        try {
+            return Integer.toUnsignedLong(HexFormat.fromHexDigits(raw, 0, 8));
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private byte[] refreshTokenMac(byte[] token) {
+        Mac mac = refreshTokenMac.get();
+        mac.update(token, 0, REFRESH_TOKEN_MACED_BYTES);
+        return mac.doFinal();
     }
 
-    public record RefreshTokenData(String rawToken, String tokenHash, Instant expiresAt) {}
+    public record RefreshTokenData(String rawToken, byte[] tokenDigest, Instant expiresAt) {}
+
+    /**
+     * profile is null unless the token was issued with profile claims; tokenId (jti) is null for tokens issued
+     * before ids were added. issuedAt has second precision (JWT iat).
+     */
+    public record VerifiedAccessToken(UUID userId, Instant expiresAt, ProfileClaims profile,
+                                      String tokenId, Instant issuedAt) {}
+
+    public record ProfileClaims(String phone, String name, int version) {}
 }
@@ -0,0 +1,21 @@
+package com.scube.society_app_backend.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/** Single node: nothing to notify, entries on other nodes (if any) age out via TTL. */
+@Component
+@ConditionalOnProperty(prefix = "app.auth.profile-cache", name = "invalidation", havingValue = "none", matchIfMissing = true)
+public class NoopProfileInvalidationBus implements ProfileInvalidationBus {
+
+    @Override
+    public void publish(UUID userId) {
+    }
+
+    @Override
+    public void subscribe(Consumer<UUID> listener) {
+    }
+}
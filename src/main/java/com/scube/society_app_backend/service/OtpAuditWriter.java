@@ -0,0 +1,102 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind for {@link InMemoryOtpStore}: queues audit rows for {@code otp_verifications} and
+ * flushes them in JDBC batches off the request thread. Audit only — login never reads these rows,
+ * so when the queue is full new entries are dropped (and counted) rather than blocking callers.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.auth.otp", name = "store", havingValue = "memory")
+public class OtpAuditWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(OtpAuditWriter.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO otp_verifications (id, phone, phone_key, code, expires_at, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String MARK_USED_SQL =
+            "UPDATE otp_verifications SET used_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final BlockingQueue<AuditRow> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    public OtpAuditWriter(JdbcTemplate jdbcTemplate, AuthProperties authProperties) {
+        AuthProperties.Otp otp = authProperties.getOtp();
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, otp.getAuditBatchSize());
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, otp.getAuditQueueCapacity()));
+    }
+
+    public void recordIssued(UUID id, long phoneKey, String code, Instant expiresAt, Instant createdAt) {
+        offer(new AuditRow(id, phoneKey, code, expiresAt, createdAt, null));
+    }
+
+    public void recordUsed(UUID id, Instant usedAt) {
+        offer(new AuditRow(id, 0, null, null, null, usedAt));
+    }
+
+    /** Drain the queue in batches; inserts of a batch go before its updates so a row is never marked before it exists. */
+    @Scheduled(fixedDelayString = "${app.auth.otp.audit-flush-interval-ms:500}")
+    public void flush() {
+        List<AuditRow> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            List<Object[]> inserts = new ArrayList<>(batch.size());
+            List<Object[]> updates = new ArrayList<>();
+            for (AuditRow row : batch) {
+                if (row.usedAt() == null) {
+                    inserts.add(new Object[]{row.id(), Long.toString(row.phoneKey()), row.phoneKey(), row.code(),
+                            Timestamp.from(row.expiresAt()), Timestamp.from(row.createdAt())});
+                } else {
+                    updates.add(new Object[]{Timestamp.from(row.usedAt()), row.id()});
+                }
+            }
+            try {
+                if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+                if (!updates.isEmpty()) jdbcTemplate.batchUpdate(MARK_USED_SQL, updates);
+                written.add(batch.size());
+            } catch (Exception e) {
+                dropped.add(batch.size());
+                log.warn("[OTP] audit flush failed, dropped {} rows: {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public int getQueueDepth() { return queue.size(); }
+    public long getDropped() { return dropped.sum(); }
+    public long getWritten() { return written.sum(); }
+
+    private void offer(AuditRow row) {
+        if (!queue.offer(row)) {
+            dropped.increment();
+        }
+    }
+
+    /** usedAt == null: insert of an issued code; otherwise: mark row {@code id} used. */
+    private record AuditRow(UUID id, long phoneKey, String code, Instant expiresAt, Instant createdAt, Instant usedAt) {}
+}
@@ -1,8 +1,6 @@
 package com.scube.society_app_backend.service;
 
 import com.scube.society_app_backend.config.AuthProperties;
-import com.scube.society_app_backend.entity.OtpVerification;
-import com.scube.society_app_backend.repository.OtpVerificationRepository;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
@@ -10,7 +8,7 @@ import java.time.Instant;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Generates OTP, persists it via {@link OtpVerificationRepository}, and sends via {@link SmsSender}.
+ * Generates OTP, persists it via {@link OtpStore}, and sends via {@link SmsSender}.
  */
 @Service
 public class OtpService {
@@ -18,15 +16,21 @@ public class OtpService {
     private static final SecureRandom RANDOM = new SecureRandom();
 
     private final AuthProperties authProperties;
-    private final OtpVerificationRepository otpVerificationRepository;
+    private final OtpStore otpStore;
     private final SmsSender smsSender;
+    private final AuthMetrics metrics;
+    private final PhoneNormalizer phoneNormalizer;
 
     public OtpService(AuthProperties authProperties,
-                      OtpVerificationRepository otpVerificationRepository,
-                      SmsSender smsSender) {
+                      OtpStore otpStore,
+                      SmsSender smsSender,
+                      AuthMetrics metrics,
+                      PhoneNormalizer phoneNormalizer) {
         this.authProperties = authProperties;
-        this.otpVerificationRepository = otpVerificationRepository;
+        this.otpStore = otpStore;
         this.smsSender = smsSender;
+        this.metrics = metrics;
+        this.phoneNormalizer = phoneNormalizer;
     }
 
     /**
@@ -40,32 +44,20 @@ public class OtpService {
     }
 
     /**
-     * Create OTP for phone: generate code, save to DB, and send via SMS (or log).
-     * Phone is normalized (trim, strip leading +).
+     * Create OTP for a phone already normalized by {@link PhoneNormalizer#toKey}: generate code, save to the OTP
+     * store, and send via SMS (or log).
      */
-    public void createAndSend(String phone) {
-        String normalized = normalizePhone(phone);
-        if (normalized.isEmpty()) {
-            throw new IllegalArgumentException("phone required");
+    public void createAndSend(long phoneKey) {
+        if (phoneKey == PhoneNormalizer.INVALID) {
+            throw new IllegalArgumentException("invalid phone");
         }
 
         String code = generateCode();
         int expiryMin = authProperties.getOtp().getExpiryMin();
         Instant expiresAt = Instant.now().plus(expiryMin, TimeUnit.MINUTES.toChronoUnit());
 
-        OtpVerification otp = new OtpVerification();
-        otp.setPhone(normalized);
-        otp.setCode(code);
-        otp.setExpiresAt(expiresAt);
-        otpVerificationRepository.save(otp);
+        metrics.record(AuthMetrics.Stage.OTP_STORE, () -> otpStore.save(phoneKey, code, expiresAt));
 
-        smsSender.sendOtp(normalized, code, expiryMin);
-    }
-
-    private static String normalizePhone(String phone) {
-        if (phone == null) return "";
-        String s = phone.trim();
-        if (s.startsWith("+")) s = s.substring(1).trim();
-        return s;
+        smsSender.sendOtp(Long.toString(phoneKey), code, expiryMin);
     }
 }
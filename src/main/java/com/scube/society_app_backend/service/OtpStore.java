@@ -0,0 +1,19 @@
+package com.scube.society_app_backend.service;
+
+import java.time.Instant;
+
+/**
+ * Holds issued OTPs until they are consumed or expire. Selected per deployment with
+ * {@code app.auth.otp.store}: {@code jpa} (default, {@link JpaOtpStore}) or {@code memory} ({@link InMemoryOtpStore}).
+ */
+public interface OtpStore {
+
+    /** Record a newly issued code for the phone, by its {@link PhoneNormalizer} key. */
+    void save(long phoneKey, String code, Instant expiresAt);
+
+    /**
+     * Atomically mark a matching, unused, unexpired code as used.
+     * Returns false when no such code exists (wrong, expired or already used).
+     */
+    boolean consume(long phoneKey, String code, Instant now);
+}
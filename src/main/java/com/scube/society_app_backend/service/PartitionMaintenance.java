@@ -0,0 +1,96 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Creates the monthly partitions of {@code otp_verifications}, {@code refresh_tokens} and {@code auth_events}
+ * months-ahead in advance. There is no DEFAULT partition (V9), so without this every OTP request, login and auth
+ * event fails once the months created so far run out. Runs at startup and every check-interval-ms, independent of
+ * retention (which only drops and purges). Idempotent, so every replica runs it.
+ * <p>
+ * A missing partition for the current or next month is logged at error level on every check and reported by
+ * {@link #getMissingPartitions()} (db.partitions.missing).
+ */
+@Component
+public class PartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenance.class);
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    static final List<String> TABLES =
+            List.of(RetentionService.OTP_TABLE, RetentionService.REFRESH_TABLE, RetentionService.AUTH_EVENTS_TABLE);
+
+    private static final String ATTACHED_PARTITION =
+            "SELECT count(*) FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                    + " WHERE i.inhparent = ?::regclass AND c.relname = ? AND NOT i.inhdetachpending";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    /** -1 until the first check. */
+    private volatile int missingPartitions = -1;
+
+    public PartitionMaintenance(JdbcTemplate jdbcTemplate, AuthProperties authProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = Math.max(1, authProperties.getPartitions().getMonthsAhead());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensurePartitions();
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.partitions.check-interval-ms:3600000}",
+            initialDelayString = "${app.auth.partitions.check-interval-ms:3600000}")
+    public void ensurePartitions() {
+        YearMonth current = YearMonth.from(Instant.now().atZone(ZoneOffset.UTC));
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate month = current.plusMonths(i).atDay(1);
+            for (String table : TABLES) {
+                try {
+                    jdbcTemplate.queryForObject("SELECT ensure_monthly_partition(?, ?)::text", String.class, table, month);
+                } catch (Exception e) {
+                    log.error("[partitions] could not create partition {} {}: {}", table, month, e.getMessage());
+                }
+            }
+        }
+        int missing = 0;
+        for (YearMonth month : List.of(current, current.plusMonths(1))) {
+            for (String table : TABLES) {
+                if (!isAttached(table, month)) {
+                    missing++;
+                    log.error("[partitions] {} has no partition for {}: inserts into that month fail", table, month);
+                }
+            }
+        }
+        missingPartitions = missing;
+    }
+
+    /** Partitions of the current and next month that are missing as of the last check; -1 before the first. */
+    public int getMissingPartitions() { return missingPartitions; }
+
+    private boolean isAttached(String table, YearMonth month) {
+        try {
+            Integer count = jdbcTemplate.queryForObject(ATTACHED_PARTITION, Integer.class,
+                    table, table + "_" + month.format(PARTITION_SUFFIX));
+            return count != null && count > 0;
+        } catch (Exception e) {
+            log.error("[partitions] could not check {} {}: {}", table, month, e.getMessage());
+            return false;
+        }
+    }
+}
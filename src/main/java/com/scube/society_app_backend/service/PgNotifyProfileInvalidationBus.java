@@ -0,0 +1,116 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node profile invalidation over Postgres LISTEN/NOTIFY; every app node already talks to the primary,
+ * so no extra infrastructure. Payload is "nodeId:userId" so a node skips its own notifications (it has
+ * already written through). The listener holds one dedicated connection outside the pool and reconnects on
+ * failure; while disconnected, entries still expire via TTL.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.auth.profile-cache", name = "invalidation", havingValue = "pg-notify")
+public class PgNotifyProfileInvalidationBus implements ProfileInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(PgNotifyProfileInvalidationBus.class);
+    private static final int POLL_TIMEOUT_MS = 1_000;
+    private static final long RECONNECT_DELAY_MS = 2_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CopyOnWriteArrayList<Consumer<UUID>> listeners = new CopyOnWriteArrayList<>();
+    private final Thread listenerThread;
+
+    private volatile boolean running = true;
+
+    public PgNotifyProfileInvalidationBus(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                                          AuthProperties authProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = authProperties.getProfileCache().getChannel();
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("invalid profile cache channel: " + channel);
+        }
+        this.listenerThread = Thread.ofPlatform().daemon().name("profile-invalidation").start(this::listenLoop);
+    }
+
+    @Override
+    public void publish(UUID userId) {
+        try {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)::text", String.class, channel, nodeId + ":" + userId);
+        } catch (Exception e) {
+            log.warn("[profile-cache] invalidation publish failed for {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<UUID> listener) {
+        listeners.add(listener);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        listenerThread.interrupt();
+        listenerThread.join(POLL_TIMEOUT_MS * 2L);
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) return;
+                log.warn("[profile-cache] invalidation listener disconnected: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        int sep = payload.indexOf(':');
+        if (sep < 0 || payload.startsWith(nodeId + ":")) {
+            return;
+        }
+        try {
+            UUID userId = UUID.fromString(payload.substring(sep + 1));
+            listeners.forEach(listener -> listener.accept(userId));
+        } catch (IllegalArgumentException e) {
+            log.warn("[profile-cache] ignoring invalidation payload {}", payload);
+        }
+    }
+}
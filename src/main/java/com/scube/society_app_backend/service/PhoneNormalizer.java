@@ -0,0 +1,94 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The one place phone input is canonicalized. Every spelling of a number ("+91 98765 43210", "098765-43210",
+ * "0091 9876543210", "919876543210") maps to its E.164 digits as a long, e.g. 919876543210: the key for
+ * users.phone_key, otp_verifications.phone_key, the in-memory OTP store and per-phone rate limits.
+ * users.phone keeps the same digits as text.
+ * <p>
+ * {@link #toKey} is a single pass over the characters and allocates nothing; E.164 numbers have at most
+ * 15 digits, so they always fit in a long.
+ */
+@Component
+public class PhoneNormalizer {
+
+    /** Returned by {@link #toKey} for input that is not a phone number. */
+    public static final long INVALID = -1;
+
+    private static final int MIN_DIGITS = 8;
+    private static final int MAX_DIGITS = 15;
+
+    private final long defaultCountryCode;
+    private final int nationalLength;
+    private final long nationalRange;
+
+    public PhoneNormalizer(AuthProperties authProperties) {
+        AuthProperties.Phone phone = authProperties.getPhone();
+        this.defaultCountryCode = phone.getDefaultCountryCode();
+        this.nationalLength = phone.getNationalNumberLength();
+        long range = 1;
+        for (int i = 0; i < nationalLength; i++) range *= 10;
+        this.nationalRange = range;
+    }
+
+    /**
+     * E.164 digits of raw as a long, or {@link #INVALID}. Spaces, dashes, dots and parentheses are ignored;
+     * a leading + or 00 marks an international number; otherwise a national number (optionally with trunk
+     * prefix 0) gets the default country code, and a number that already starts with it is kept.
+     */
+    public long toKey(CharSequence raw) {
+        if (raw == null) {
+            return INVALID;
+        }
+        boolean plus = false;
+        int digits = 0;
+        int leadingZeros = 0;
+        long value = 0;
+        for (int i = 0, n = raw.length(); i < n; i++) {
+            char c = raw.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (value == 0 && c == '0') {
+                    leadingZeros++;
+                } else if (++digits > MAX_DIGITS) {
+                    return INVALID;
+                } else {
+                    value = value * 10 + (c - '0');
+                }
+            } else if (c == '+' && !plus && digits == 0 && leadingZeros == 0) {
+                plus = true;
+            } else if (c != ' ' && c != '-' && c != '.' && c != '(' && c != ')' && c != '\t') {
+                return INVALID;
+            }
+        }
+        // International: + or 00, then a country code (which never starts with 0)
+        if (plus) {
+            return leadingZeros == 0 && digits >= MIN_DIGITS ? value : INVALID;
+        }
+        if (leadingZeros == 2) {
+            return digits >= MIN_DIGITS ? value : INVALID;
+        }
+        if (leadingZeros > 1) {
+            return INVALID;
+        }
+        if (digits == nationalLength) {
+            return defaultCountryCode * nationalRange + value;
+        }
+        if (leadingZeros == 1) {
+            return INVALID;
+        }
+        if (digits > nationalLength && value / nationalRange == defaultCountryCode) {
+            return value;
+        }
+        // Another country's number typed without +; too short for that is not a number at all
+        return digits > nationalLength && digits >= MIN_DIGITS ? value : INVALID;
+    }
+
+    /** Canonical digits as text (users.phone), or null if raw is not a phone number. */
+    public String normalize(CharSequence raw) {
+        long key = toKey(raw);
+        return key == INVALID ? null : Long.toString(key);
+    }
+}
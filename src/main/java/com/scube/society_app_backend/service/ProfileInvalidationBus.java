@@ -0,0 +1,14 @@
+package com.scube.society_app_backend.service;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/** Tells other app nodes that a user's cached profile is stale. See {@link UserProfileCache}. */
+public interface ProfileInvalidationBus {
+
+    /** Announce a change to userId; the publishing node itself is not notified. */
+    void publish(UUID userId);
+
+    /** Called once by the cache; listener runs for changes published by other nodes. */
+    void subscribe(Consumer<UUID> listener);
+}
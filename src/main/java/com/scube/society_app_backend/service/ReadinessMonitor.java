@@ -0,0 +1,131 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks DB connectivity, connection-pool saturation and SMS breaker state on its own background thread and
+ * keeps the result as an immutable snapshot. Readiness probes only read the snapshot, so probe frequency adds
+ * no DB load and a slow check can't pile up probe requests. A snapshot older than max-staleness counts as
+ * not ready (the checker itself is stuck).
+ * <p>
+ * An open SMS breaker is reported but does not fail readiness: every pod shares the provider, and OTP sends
+ * already fall back to logging, so pulling pods would only turn a degraded service into an outage.
+ */
+@Component
+public class ReadinessMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadinessMonitor.class);
+
+    private final DataSource dataSource;
+    private final HikariDataSource pool;
+    private final DefaultSmsSender smsSender;
+    private final AuthProperties.Readiness config;
+    private final ScheduledExecutorService executor;
+
+    private volatile Snapshot snapshot = Snapshot.starting();
+
+    public ReadinessMonitor(DataSource dataSource, DefaultSmsSender smsSender, AuthProperties authProperties) {
+        this.pool = primaryPool(dataSource);
+        this.dataSource = pool != null ? pool : dataSource;
+        this.smsSender = smsSender;
+        this.config = authProperties.getReadiness();
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("readiness-check").factory());
+        executor.scheduleWithFixedDelay(this::refreshQuietly, 0,
+                Math.max(100, config.getRefreshIntervalMs()), TimeUnit.MILLISECONDS);
+    }
+
+    /** Latest snapshot, downgraded to not-ready if it has not been refreshed recently. */
+    public Snapshot current() {
+        Snapshot s = snapshot;
+        if (s.ready() && s.checkedAt().plusMillis(config.getMaxStalenessMs()).isBefore(Instant.now())) {
+            return s.withReason("stale");
+        }
+        return s;
+    }
+
+    /** Run all checks now and publish the result. */
+    public Snapshot refresh() {
+        Instant now = Instant.now();
+        long start = System.nanoTime();
+        String dbError = checkDatabase();
+        long dbLatencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        int active = -1, total = -1, waiting = -1, max = -1;
+        HikariPoolMXBean mx = pool != null ? pool.getHikariPoolMXBean() : null;
+        if (mx != null) {
+            active = mx.getActiveConnections();
+            total = mx.getTotalConnections();
+            waiting = mx.getThreadsAwaitingConnection();
+            max = pool.getMaximumPoolSize();
+        }
+        boolean poolSaturated = max > 0 && active >= max && waiting > config.getPoolMaxWaiting();
+
+        String reason = dbError != null ? "db: " + dbError : poolSaturated ? "pool saturated" : null;
+        Snapshot next = new Snapshot(reason == null, reason, now, dbError == null, dbLatencyMs,
+                active, total, max, waiting, smsSender.getCircuitState().name());
+        if (snapshot.ready() != next.ready()) {
+            log.warn("[readiness] {} ({})", next.ready() ? "READY" : "NOT READY", reason != null ? reason : "ok");
+        }
+        snapshot = next;
+        return next;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private String checkDatabase() {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(Math.max(1, config.getDbTimeoutSec())) ? null : "validation failed";
+        } catch (Exception e) {
+            return e.getClass().getSimpleName();
+        }
+    }
+
+    /** The primary's Hikari pool; unwrapping outside a transaction resolves through replica routing to it. */
+    private static HikariDataSource primaryPool(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("[readiness] check failed: {}", e.getMessage());
+        }
+    }
+
+    public record Snapshot(boolean ready, String reason, Instant checkedAt,
+                           boolean dbUp, long dbLatencyMs,
+                           int poolActive, int poolTotal, int poolMax, int poolWaiting,
+                           String smsCircuit) {
+
+        static Snapshot starting() {
+            return new Snapshot(false, "starting", Instant.EPOCH, false, -1, -1, -1, -1, -1, "UNKNOWN");
+        }
+
+        Snapshot withReason(String reason) {
+            return new Snapshot(false, reason, checkedAt, dbUp, dbLatencyMs,
+                    poolActive, poolTotal, poolMax, poolWaiting, smsCircuit);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter of live refresh-token digests, so /auth/refresh rejects unknown, forged and (after the next
+ * rebuild) rotated or revoked tokens without a DB lookup. A miss is only trusted for a token issued before
+ * the filter's coverage point; newer ones go to the DB as before. The issue time a token carries is MACed
+ * ({@link JwtService#hasAuthenticIssueTime}), so a forged recent issue time cannot skip the filter.
+ * <p>
+ * Legacy tokens (no issue time, issued by the previous release) count as issued at legacy-issued-until: the
+ * filter judges them once its coverage passes that point, and once a refresh TTL has passed since, none can
+ * be live and they are rejected outright. Whatever the filter's state, a token that is not hex of a length this
+ * service issues, has a bad MAC, or an issue time beyond sync-overlap-ms in the future or past the refresh TTL,
+ * is rejected outright.
+ * <p>
+ * Coverage works like the revocation denylist's sync: every sync-interval-ms this node adds tokens created on
+ * any node since its last sync and moves the coverage point up to the sync start minus sync-overlap-ms (commit
+ * lag, clock skew). Every rebuild-interval-ms the filter is rebuilt from the live tokens alone, so revoked and
+ * expired ones stop passing. Until the first load succeeds, or if disabled, every token goes to the DB.
+ */
+@Service
+public class RefreshTokenFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenFilter.class);
+
+    private static final String SELECT_LIVE =
+            "SELECT token_digest FROM refresh_tokens WHERE revoked_at IS NULL AND expires_at > ?";
+    /** id >= bound: ids are UUIDv7, so this is a primary-key range scan of the newest partitions. */
+    private static final String SELECT_LIVE_SINCE =
+            "SELECT token_digest FROM refresh_tokens"
+                    + " WHERE id >= ? AND created_at >= ? AND revoked_at IS NULL AND expires_at > ?";
+
+    /** Success time of the migration shipped with the issue-time prefix (V8, refresh_token_digest). */
+    private static final String PREFIX_RELEASE_MIGRATED_AT =
+            "SELECT max(installed_on) FROM flyway_schema_history WHERE version = '8' AND success";
+    /** Default rollout allowance after that migration for nodes of the previous release. */
+    private static final long LEGACY_ROLLOUT_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JwtService jwtService;
+    private final long refreshTtlMillis;
+    private final boolean enabled;
+    private final long expectedTokens;
+    private final double falsePositiveRate;
+    private final long syncOverlapMillis;
+    private final long rebuildIntervalMillis;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder notCovered = new LongAdder();
+
+    /** Null until the first load. Only the sync thread replaces it or adds to its filter. */
+    private volatile Coverage coverage;
+    private long lastRebuildMillis;
+    private volatile long loadedTokens;
+    /** Legacy tokens were all issued before this; -1 until known. */
+    private volatile long legacyIssuedUntilMillis = -1;
+
+    private record Coverage(DigestBloomFilter filter, long coveredBeforeMillis) {}
+
+    public RefreshTokenFilter(JdbcTemplate jdbcTemplate, JwtService jwtService, AuthProperties authProperties) {
+        AuthProperties.RefreshFilter config = authProperties.getRefreshFilter();
+        this.jdbcTemplate = jdbcTemplate;
+        this.jwtService = jwtService;
+        this.refreshTtlMillis = jwtService.getRefreshTtl().toMillis();
+        if (config.getLegacyIssuedUntil() != null && !config.getLegacyIssuedUntil().isBlank()) {
+            this.legacyIssuedUntilMillis = Instant.parse(config.getLegacyIssuedUntil().trim()).toEpochMilli();
+        }
+        this.enabled = config.isEnabled();
+        this.expectedTokens = Math.max(1, config.getExpectedTokens());
+        this.falsePositiveRate = config.getFalsePositiveRate();
+        this.syncOverlapMillis = Math.max(0, config.getSyncOverlapMs());
+        this.rebuildIntervalMillis = config.getRebuildIntervalMs();
+    }
+
+    /** Hot path: false only if the token is certainly not a live refresh token. */
+    public boolean mightBeLive(String raw, byte[] digest) {
+        if (!JwtService.isWellFormedRefreshToken(raw)) {
+            return reject();
+        }
+        long now = System.currentTimeMillis();
+        long issuedBeforeMillis;
+        if (JwtService.isLegacyRefreshToken(raw)) {
+            long legacyUntil = legacyIssuedUntilMillis;
+            if (legacyUntil < 0) {
+                notCovered.increment();
+                return true;
+            }
+            if (now - legacyUntil > refreshTtlMillis) {
+                return reject();
+            }
+            issuedBeforeMillis = legacyUntil;
+        } else {
+            if (!jwtService.hasAuthenticIssueTime(raw)) {
+                return reject();
+            }
+            long issuedAtMillis = TimeUnit.SECONDS.toMillis(JwtService.refreshTokenIssuedAt(raw));
+            if (issuedAtMillis > now + syncOverlapMillis || now - issuedAtMillis > refreshTtlMillis + 1000) {
+                return reject();
+            }
+            // issuedAt is truncated to the second; the token may be up to a second younger
+            issuedBeforeMillis = issuedAtMillis + 1000;
+        }
+        Coverage current = coverage;
+        if (current == null || issuedBeforeMillis > current.coveredBeforeMillis()) {
+            notCovered.increment();
+            return true;
+        }
+        if (current.filter().mightContain(digest)) {
+            passed.increment();
+            return true;
+        }
+        return reject();
+    }
+
+    /** First run at startup does the full load. Failures keep the current filter and coverage point. */
+    @Scheduled(fixedDelayString = "${app.auth.refresh-filter.sync-interval-ms:5000}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Coverage current = coverage;
+        try {
+            if (current == null || now - lastRebuildMillis >= rebuildIntervalMillis) {
+                rebuild(now);
+            } else {
+                long since = current.coveredBeforeMillis();
+                jdbcTemplate.query(SELECT_LIVE_SINCE, (RowCallbackHandler) rs -> current.filter().add(rs.getBytes(1)),
+                        new UUID(since << 16, 0), new Timestamp(since), new Timestamp(now));
+                coverage = new Coverage(current.filter(), now - syncOverlapMillis);
+            }
+        } catch (DataAccessException e) {
+            log.warn("[refresh-filter] sync failed, keeping current filter: {}", e.getMessage());
+        }
+    }
+
+    public long getRejected() { return rejected.sum(); }
+    public long getPassed() { return passed.sum(); }
+    public long getNotCovered() { return notCovered.sum(); }
+    public long getLoadedTokens() { return loadedTokens; }
+
+    private boolean reject() {
+        rejected.increment();
+        return false;
+    }
+
+    /** Sized for twice the live tokens of the previous load (room to grow until the next rebuild). */
+    private void rebuild(long now) {
+        DigestBloomFilter filter = new DigestBloomFilter(Math.max(expectedTokens, 2 * loadedTokens), falsePositiveRate);
+        long[] rows = {0};
+        jdbcTemplate.query(SELECT_LIVE, (RowCallbackHandler) rs -> {
+            filter.add(rs.getBytes(1));
+            rows[0]++;
+        }, new Timestamp(now));
+        if (legacyIssuedUntilMillis < 0) {
+            loadLegacyIssuedUntil();
+        }
+        coverage = new Coverage(filter, now - syncOverlapMillis);
+        lastRebuildMillis = now;
+        loadedTokens = rows[0];
+        log.info("[refresh-filter] rebuilt from {} live tokens: {} KiB, {} hashes, in {} ms", rows[0],
+                filter.sizeBytes() / 1024, filter.hashCount(), System.currentTimeMillis() - now);
+    }
+
+    /** Until this succeeds, legacy tokens go to the DB. */
+    private void loadLegacyIssuedUntil() {
+        try {
+            Timestamp migratedAt = jdbcTemplate.queryForObject(PREFIX_RELEASE_MIGRATED_AT, Timestamp.class);
+            if (migratedAt != null) {
+                legacyIssuedUntilMillis = migratedAt.getTime() + LEGACY_ROLLOUT_MILLIS;
+            }
+        } catch (DataAccessException e) {
+            log.warn("[refresh-filter] migration history unavailable, set legacy-issued-until: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.scube.society_app_backend.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scube.society_app_backend.config.AdminProperties;
+import com.scube.society_app_backend.dto.ResidentImportReport;
+import com.scube.society_app_backend.dto.UserResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulk resident import for onboarding a society. The upload is read as a stream (CSV line by line, JSON array
+ * element by element) and upserted into {@code users} one batch at a time, so memory stays at one batch no
+ * matter how large the file is. Each batch is a single statement binding two arrays (phone keys, names) and
+ * commits on its own; the upsert is idempotent, so a failed import can simply be re-run.
+ * <p>
+ * Phones are keyed by {@link PhoneNormalizer}, exactly as at login. Existing users keep their id; their name is
+ * replaced only by a non-blank, different name, which bumps profile_version and writes the profile through the
+ * cache like a profile update does. Progress is logged every import-progress-log-rows rows, and the import
+ * counters move with each committed batch.
+ */
+@Service
+public class ResidentImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResidentImportService.class);
+
+    static final int MAX_NAME_LENGTH = 200;
+
+    private static final String UPSERT_BATCH =
+            "INSERT INTO users (phone, phone_key, name)"
+                    + " SELECT phone_key::text, phone_key, name FROM unnest(?::bigint[], ?::text[]) AS r (phone_key, name)"
+                    + " ON CONFLICT (phone_key) WHERE phone_key IS NOT NULL DO UPDATE"
+                    + " SET name = EXCLUDED.name, profile_version = users.profile_version + 1, updated_at = now()"
+                    + " WHERE EXCLUDED.name <> '' AND users.name IS DISTINCT FROM EXCLUDED.name"
+                    + " RETURNING id, (xmax = 0) AS inserted, phone, name, profile_version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserProfileCache profileCache;
+    private final PhoneNormalizer phoneNormalizer;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final int progressLogRows;
+    private final LongAdder inserted = new LongAdder();
+    private final LongAdder updated = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public ResidentImportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, UserProfileCache profileCache,
+                                 PhoneNormalizer phoneNormalizer, AdminProperties adminProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.profileCache = profileCache;
+        this.phoneNormalizer = phoneNormalizer;
+        this.batchSize = Math.max(1, adminProperties.getImportBatchSize());
+        this.maxReportedErrors = Math.max(0, adminProperties.getImportMaxReportedErrors());
+        this.progressLogRows = Math.max(1, adminProperties.getImportProgressLogRows());
+    }
+
+    /**
+     * CSV with columns phone and name. A first line starting with "phone" is a header; it may name the columns
+     * in any order and use first_name / last_name instead of name. Fields may be double-quoted.
+     */
+    public ResidentImportReport importCsv(InputStream in) {
+        Run run = new Run();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            int[] columns = {0, 1, -1};
+            String line;
+            long lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                List<String> fields;
+                try {
+                    fields = parseCsvLine(line);
+                } catch (IllegalArgumentException e) {
+                    run.reject(lineNo, e.getMessage());
+                    continue;
+                }
+                if (lineNo == 1 && fields.get(0).trim().toLowerCase(Locale.ROOT).startsWith("phone")) {
+                    columns = headerColumns(fields);
+                    continue;
+                }
+                run.accept(lineNo, field(fields, columns[0]), joinName(field(fields, columns[1]), field(fields, columns[2])));
+            }
+        } catch (IOException e) {
+            run.abort("upload could not be read: " + e.getMessage());
+        }
+        return run.finish();
+    }
+
+    /** JSON array of objects with phone and name (or first_name / last_name). */
+    public ResidentImportReport importJson(InputStream in) {
+        Run run = new Run();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                run.abort("expected a JSON array of residents");
+                return run.finish();
+            }
+            long position = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                position++;
+                JsonNode node = parser.readValueAsTree();
+                run.accept(position, text(node, "phone"),
+                        node.has("name") ? text(node, "name") : joinName(text(node, "first_name"), text(node, "last_name")));
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                run.abort("expected an object at array position " + (position + 1));
+            }
+        } catch (IOException e) {
+            run.abort("invalid JSON: " + e.getMessage());
+        }
+        return run.finish();
+    }
+
+    public long getInserted() { return inserted.sum(); }
+    public long getUpdated() { return updated.sum(); }
+    public long getUnchanged() { return unchanged.sum(); }
+    public long getFailed() { return failed.sum(); }
+
+    /** One CSV record on one line: comma-separated, "..." quoting with "" as an escaped quote. */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quote");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /** Column indexes for phone, name, last_name (name may be first_name); -1 if absent. */
+    private static int[] headerColumns(List<String> header) {
+        int[] columns = {-1, -1, -1};
+        for (int i = 0; i < header.size(); i++) {
+            switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "phone" -> columns[0] = i;
+                case "name", "first_name" -> columns[1] = i;
+                case "last_name" -> columns[2] = i;
+                default -> { }
+            }
+        }
+        return columns;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : null;
+    }
+
+    private static String text(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String joinName(String first, String last) {
+        String f = first != null ? first.trim() : "";
+        String l = last != null ? last.trim() : "";
+        return (f + " " + l).trim();
+    }
+
+    /** State of one import: the pending batch (phone -> name, insertion ordered) and running totals. */
+    private final class Run {
+        private final long startNanos = System.nanoTime();
+        private final Map<Long, String> batch = new LinkedHashMap<>();
+        private final List<ResidentImportReport.RowError> errors = new ArrayList<>();
+        private long rows;
+        private long insertedRows;
+        private long updatedRows;
+        private long unchangedRows;
+        private long failedRows;
+        private String aborted;
+
+        void accept(long line, String rawPhone, String name) {
+            rows++;
+            if (rows % progressLogRows == 0) {
+                log.info("[import] residents progress rows={} inserted={} updated={} unchanged={} failed={} after {} ms",
+                        rows, insertedRows, updatedRows, unchangedRows, failedRows,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            }
+            long phoneKey = phoneNormalizer.toKey(rawPhone);
+            if (phoneKey == PhoneNormalizer.INVALID) {
+                reject(line, "invalid phone");
+                return;
+            }
+            if (name.length() > MAX_NAME_LENGTH) {
+                reject(line, "name longer than " + MAX_NAME_LENGTH + " characters");
+                return;
+            }
+            // A statement cannot upsert the same row twice; a repeated phone starts a new batch (last row wins).
+            if (batch.containsKey(phoneKey) || batch.size() >= batchSize) {
+                flush();
+            }
+            batch.put(phoneKey, name);
+        }
+
+        void reject(long line, String error) {
+            failedRows++;
+            failed.increment();
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ResidentImportReport.RowError(line, error));
+            }
+        }
+
+        void abort(String reason) {
+            aborted = reason;
+        }
+
+        ResidentImportReport finish() {
+            flush();
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            log.info("[import] residents rows={} inserted={} updated={} unchanged={} failed={}{} in {} ms",
+                    rows, insertedRows, updatedRows, unchangedRows, failedRows,
+                    aborted != null ? " aborted: " + aborted : "", durationMs);
+            return new ResidentImportReport(rows, insertedRows, updatedRows, unchangedRows, failedRows,
+                    List.copyOf(errors), aborted, durationMs);
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            Long[] phones = batch.keySet().toArray(Long[]::new);
+            String[] names = batch.values().toArray(String[]::new);
+            List<Renamed> renamed = new ArrayList<>();
+            long[] insertedInBatch = {0};
+            try {
+                jdbcTemplate.query(UPSERT_BATCH, (RowCallbackHandler) rs -> {
+                    if (rs.getBoolean(2)) {
+                        insertedInBatch[0]++;
+                    } else {
+                        UUID id = rs.getObject(1, UUID.class);
+                        renamed.add(new Renamed(id, new UserResponse(id.toString(), rs.getString(3), rs.getString(4)),
+                                rs.getInt(5)));
+                    }
+                }, phones, names);
+            } catch (DataAccessException e) {
+                log.warn("[import] residents batch of {} rows failed: {}", phones.length, e.getMessage());
+                failedRows += phones.length;
+                failed.add(phones.length);
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new ResidentImportReport.RowError(rows,
+                            "batch of " + phones.length + " rows up to here failed: " + e.getMostSpecificCause().getMessage()));
+                }
+                batch.clear();
+                return;
+            }
+            long unchangedInBatch = phones.length - insertedInBatch[0] - renamed.size();
+            insertedRows += insertedInBatch[0];
+            updatedRows += renamed.size();
+            unchangedRows += unchangedInBatch;
+            inserted.add(insertedInBatch[0]);
+            updated.add(renamed.size());
+            unchanged.add(unchangedInBatch);
+            // The batch has committed (no surrounding transaction), so this applies right away
+            renamed.forEach(r -> profileCache.writeThrough(r.id(), r.profile(), r.profileVersion()));
+            batch.clear();
+        }
+    }
+
+    private record Renamed(UUID id, UserResponse profile, int profileVersion) {}
+}
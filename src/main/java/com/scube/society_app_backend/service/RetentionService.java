@@ -0,0 +1,158 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@code otp_verifications}, {@code refresh_tokens}, {@code revoked_access_tokens} and {@code auth_events}
+ * bounded. Each run:
+ * <ol>
+ *   <li>drops whole partitions whose rows are all past retention (the only cleanup for append-only auth_events).
+ *       Each is first detached with DETACH PARTITION ... CONCURRENTLY, which does not block queries on the
+ *       parent; a detach interrupted half-way is finalized on the next run,</li>
+ *   <li>deletes remaining expired / used / revoked rows in bounded batches (one short statement each).</li>
+ * </ol>
+ * Every step is idempotent, so overlapping runs on several replicas are harmless. Creating the partitions new rows
+ * go into is {@link PartitionMaintenance}'s job, which runs whether or not retention is enabled.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.auth.retention", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(RetentionService.class);
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    static final String OTP_TABLE = "otp_verifications";
+    static final String REFRESH_TABLE = "refresh_tokens";
+    static final String AUTH_EVENTS_TABLE = "auth_events";
+
+    private static final String DELETE_OTP_BATCH =
+            "DELETE FROM otp_verifications WHERE id IN (SELECT id FROM otp_verifications"
+                    + " WHERE expires_at < ? OR used_at < ? LIMIT ?)";
+    private static final String DELETE_REFRESH_BATCH =
+            "DELETE FROM refresh_tokens WHERE id IN (SELECT id FROM refresh_tokens"
+                    + " WHERE expires_at < ? OR revoked_at < ? LIMIT ?)";
+    /** Denylist rows stop mattering once every access token they can match has expired. */
+    private static final String DELETE_REVOKED_ACCESS_BATCH =
+            "DELETE FROM revoked_access_tokens WHERE token_id IN (SELECT token_id FROM revoked_access_tokens"
+                    + " WHERE expires_at < ? LIMIT ?)";
+    private static final String DELETE_USER_REVOCATION_BATCH =
+            "DELETE FROM user_token_revocations WHERE user_id IN (SELECT user_id FROM user_token_revocations"
+                    + " WHERE revoked_before < ? LIMIT ?)";
+    private static final String LIST_PARTITIONS =
+            "SELECT c.relname, i.inhdetachpending FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                    + " WHERE i.inhparent = ?::regclass";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuthProperties authProperties;
+
+    private volatile RunResult lastRun;
+
+    public RetentionService(JdbcTemplate jdbcTemplate, AuthProperties authProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.authProperties = authProperties;
+    }
+
+    @Scheduled(cron = "${app.auth.retention.cron:0 17 3 * * *}")
+    public RunResult purge() {
+        AuthProperties.Retention retention = authProperties.getRetention();
+        long start = System.nanoTime();
+        Instant now = Instant.now();
+
+        Instant otpCutoff = now.minus(Duration.ofDays(retention.getOtpRetentionDays()));
+        Instant refreshCutoff = now.minus(Duration.ofDays(retention.getRefreshTokenRetentionDays()));
+        // A partition can go once its newest possible row has expired and then aged past retention.
+        Instant otpPartitionCutoff = otpCutoff.minus(Duration.ofMinutes(authProperties.getOtp().getExpiryMin()));
+        Instant refreshPartitionCutoff = refreshCutoff.minus(Duration.ofDays(authProperties.getJwt().getRefreshTtlDays()));
+
+        int otpPartitions = dropPartitionsBefore(OTP_TABLE, otpPartitionCutoff);
+        int refreshPartitions = dropPartitionsBefore(REFRESH_TABLE, refreshPartitionCutoff);
+        int eventPartitions = dropPartitionsBefore(AUTH_EVENTS_TABLE,
+                now.minus(Duration.ofDays(retention.getAuthEventRetentionDays())));
+        long otpRows = deleteInBatches(DELETE_OTP_BATCH, retention, otpCutoff, otpCutoff);
+        long refreshRows = deleteInBatches(DELETE_REFRESH_BATCH, retention, refreshCutoff, refreshCutoff);
+        Instant accessCutoff = now.minus(Duration.ofMinutes(authProperties.getJwt().getAccessTtlMin()));
+        long revocationRows = deleteInBatches(DELETE_REVOKED_ACCESS_BATCH, retention, now)
+                + deleteInBatches(DELETE_USER_REVOCATION_BATCH, retention, accessCutoff);
+
+        RunResult result = new RunResult(now, otpRows, refreshRows, revocationRows,
+                otpPartitions + refreshPartitions + eventPartitions,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        lastRun = result;
+        log.info("[retention] purged otp_verifications={} refresh_tokens={} revocations={} partitions_dropped={} in {} ms",
+                result.otpRowsPurged(), result.refreshTokenRowsPurged(), result.revocationRowsPurged(),
+                result.partitionsDropped(), result.durationMs());
+        return result;
+    }
+
+    public RunResult getLastRun() { return lastRun; }
+
+    /** Runs outside a transaction: DETACH ... CONCURRENTLY cannot run inside one. */
+    private int dropPartitionsBefore(String table, Instant cutoff) {
+        int dropped = 0;
+        for (Map<String, Object> row : jdbcTemplate.queryForList(LIST_PARTITIONS, table)) {
+            String partition = (String) row.get("relname");
+            YearMonth month = partitionMonth(table, partition);
+            if (month == null) continue;
+            Instant upperBound = month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            if (!upperBound.isAfter(cutoff)) {
+                try {
+                    jdbcTemplate.execute("ALTER TABLE \"" + table + "\" DETACH PARTITION \"" + partition + "\""
+                            + (Boolean.TRUE.equals(row.get("inhdetachpending")) ? " FINALIZE" : " CONCURRENTLY"));
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS \"" + partition + "\"");
+                    dropped++;
+                } catch (Exception e) {
+                    log.warn("[retention] could not drop partition {}: {}", partition, e.getMessage());
+                }
+            }
+        }
+        return dropped;
+    }
+
+    /** sql takes one parameter per cutoff, then the batch size. */
+    private long deleteInBatches(String sql, AuthProperties.Retention retention, Instant... cutoffs) {
+        int batchSize = Math.max(1, retention.getBatchSize());
+        Object[] args = new Object[cutoffs.length + 1];
+        for (int i = 0; i < cutoffs.length; i++) {
+            args[i] = Timestamp.from(cutoffs[i]);
+        }
+        args[cutoffs.length] = batchSize;
+        long total = 0;
+        for (int i = 0; i < retention.getMaxBatchesPerRun(); i++) {
+            int deleted = jdbcTemplate.update(sql, args);
+            total += deleted;
+            if (deleted < batchSize) break;
+        }
+        return total;
+    }
+
+    /** Month of a {@code <table>_YYYYMM} partition; null for the default partition or unknown names. */
+    static YearMonth partitionMonth(String table, String partition) {
+        String prefix = table + "_";
+        if (!partition.startsWith(prefix) || partition.length() != prefix.length() + 6) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(prefix.length()), PARTITION_SUFFIX);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public record RunResult(Instant startedAt, long otpRowsPurged, long refreshTokenRowsPurged,
+                            long revocationRowsPurged, int partitionsDropped, long durationMs) {}
+}
@@ -0,0 +1,39 @@
+package com.scube.society_app_backend.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps retries to a fraction of first attempts so a failing dependency isn't hit with a retry storm.
+ * Each request deposits {@code ratio} of a token (up to {@code maxTokens}); each retry spends one.
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1_000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    public RetryBudget(double ratio, int maxTokens) {
+        this.depositPerRequest = Math.max(0, Math.round(ratio * SCALE));
+        this.maxBalance = Math.max(1, maxTokens) * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    public void recordRequest() {
+        balance.accumulateAndGet(depositPerRequest, (cur, add) -> Math.min(maxBalance, cur + add));
+    }
+
+    /** Spend one retry token; returns false when the budget is exhausted. */
+    public boolean tryWithdraw() {
+        while (true) {
+            long cur = balance.get();
+            if (cur < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(cur, cur - SCALE)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.scube.society_app_backend.service;
+
+/**
+ * Thrown by {@link DefaultSmsSender} when the provider was skipped (circuit open) or failed; the OTP has
+ * already been logged as a fallback.
+ */
+public class SmsDeliveryException extends RuntimeException {
+
+    public SmsDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
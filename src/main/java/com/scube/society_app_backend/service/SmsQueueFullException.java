@@ -0,0 +1,9 @@
+package com.scube.society_app_backend.service;
+
+/** Thrown when the SMS dispatch queue is full and the policy is {@code reject}. */
+public class SmsQueueFullException extends RuntimeException {
+
+    public SmsQueueFullException() {
+        super("sms_queue_full");
+    }
+}
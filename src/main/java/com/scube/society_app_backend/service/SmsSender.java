@@ -6,7 +6,7 @@ package com.scube.society_app_backend.service;
 public interface SmsSender {
 
     /**
-     * Send OTP to the phone. expiryMin is used in the message and for provider-specific params.
+     * Send OTP to the phone, given as canonical E.164 digits (see PhoneNormalizer). expiryMin is used in the message and for provider-specific params.
      */
     void sendOtp(String phone, String code, int expiryMin);
 }
@@ -0,0 +1,54 @@
+package com.scube.society_app_backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Low-level helpers for opaque tokens: random bytes, SHA-256 and lowercase hex. MessageDigest instances are
+ * reused per thread and hex encoding is table-driven, so hashing a token allocates only its input bytes
+ * and output.
+ */
+public final class TokenCrypto {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private TokenCrypto() {}
+
+    public static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+
+    /** SHA-256 digest using this thread's cached MessageDigest. */
+    public static byte[] sha256(byte[] input) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return digest.digest(input);
+    }
+
+    public static byte[] sha256(String input) {
+        return sha256(input.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Lowercase hex, two chars per byte. */
+    public static String toHex(byte[] bytes) {
+        char[] out = new char[bytes.length * 2];
+        for (int i = 0, j = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xff;
+            out[j++] = HEX[b >>> 4];
+            out[j++] = HEX[b & 0x0f];
+        }
+        return new String(out);
+    }
+}
@@ -0,0 +1,124 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory denylist for access tokens, so JwtAuthFilter rejects logged-out tokens with two hash lookups and
+ * no DB round trip. Two kinds of entry (see V4 migration):
+ * <ul>
+ *   <li>token id (jti) -> token expiry, for a single logout;</li>
+ *   <li>user id -> revoked-before, for "sign out all devices": every token issued up to then is rejected.
+ *       iat has second precision, so tokens issued later in that same second are rejected too.</li>
+ * </ul>
+ * An entry is dropped once every token it can match has expired. Revocations are written to the DB and applied
+ * here at once; other nodes pick them up on their next sync (app.auth.revocation.sync-interval-ms), which is
+ * how long a revoked token may still be accepted elsewhere.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final String INSERT_TOKEN =
+            "INSERT INTO revoked_access_tokens (token_id, user_id, expires_at, revoked_at) VALUES (?, ?, ?, ?)"
+                    + " ON CONFLICT (token_id) DO NOTHING";
+    private static final String UPSERT_USER =
+            "INSERT INTO user_token_revocations (user_id, revoked_before) VALUES (?, ?)"
+                    + " ON CONFLICT (user_id) DO UPDATE"
+                    + " SET revoked_before = GREATEST(user_token_revocations.revoked_before, EXCLUDED.revoked_before)";
+    private static final String SELECT_TOKENS =
+            "SELECT token_id, expires_at FROM revoked_access_tokens WHERE revoked_at >= ? AND expires_at > ?";
+    private static final String SELECT_USERS =
+            "SELECT user_id, revoked_before FROM user_token_revocations WHERE revoked_before >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long accessTtlMillis;
+    private final long syncOverlapMillis;
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Long> revokedBefore = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    /** Start of the last successful sync; null until the first (full) load. */
+    private volatile Instant lastSync;
+
+    public TokenRevocationService(JdbcTemplate jdbcTemplate, AuthProperties authProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.accessTtlMillis = TimeUnit.MINUTES.toMillis(authProperties.getJwt().getAccessTtlMin());
+        this.syncOverlapMillis = Math.max(0, authProperties.getRevocation().getSyncOverlapMs());
+    }
+
+    /** Deny this one token until it expires. Tokens issued before jti existed have no id and are skipped. */
+    public void revokeToken(JwtService.VerifiedAccessToken token) {
+        if (token.tokenId() == null) {
+            return;
+        }
+        jdbcTemplate.update(INSERT_TOKEN, token.tokenId(), token.userId(),
+                Timestamp.from(token.expiresAt()), Timestamp.from(Instant.now()));
+        revokedTokens.put(token.tokenId(), token.expiresAt().toEpochMilli());
+    }
+
+    /** Deny every access token of the user issued up to {@code before}. */
+    public void revokeAllForUser(UUID userId, Instant before) {
+        jdbcTemplate.update(UPSERT_USER, userId, Timestamp.from(before));
+        revokedBefore.merge(userId, before.toEpochMilli(), Math::max);
+    }
+
+    /** Hot path: two map lookups, nothing else. */
+    public boolean isRevoked(JwtService.VerifiedAccessToken token) {
+        Long before = revokedBefore.get(token.userId());
+        boolean revoked = (before != null && token.issuedAt().toEpochMilli() <= before)
+                || (token.tokenId() != null && revokedTokens.containsKey(token.tokenId()));
+        if (revoked) {
+            rejected.increment();
+        }
+        return revoked;
+    }
+
+    /**
+     * Pull revocations made on any node since the last sync (minus an overlap for commit lag and clock skew;
+     * re-applying a row is harmless), then drop entries that can no longer match a live token. The first run
+     * at startup loads everything still relevant.
+     */
+    @Scheduled(fixedDelayString = "${app.auth.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        Instant now = Instant.now();
+        Instant previous = lastSync;
+        Instant tokensSince = previous == null ? Instant.EPOCH : previous.minusMillis(syncOverlapMillis);
+        Instant usersSince = previous == null ? now.minusMillis(accessTtlMillis) : previous.minusMillis(syncOverlapMillis);
+        try {
+            jdbcTemplate.query(SELECT_TOKENS, (RowCallbackHandler) rs ->
+                            revokedTokens.put(rs.getString(1), rs.getTimestamp(2).getTime()),
+                    Timestamp.from(tokensSince), Timestamp.from(now));
+            jdbcTemplate.query(SELECT_USERS, (RowCallbackHandler) rs ->
+                            revokedBefore.merge(rs.getObject(1, UUID.class), rs.getTimestamp(2).getTime(), Math::max),
+                    Timestamp.from(usersSince));
+            lastSync = now;
+        } catch (DataAccessException e) {
+            log.warn("[revocation] sync failed, keeping current denylist: {}", e.getMessage());
+        }
+        evictExpired(now.toEpochMilli());
+    }
+
+    public int getRevokedTokenCount() { return revokedTokens.size(); }
+    public int getRevokedUserCount() { return revokedBefore.size(); }
+    public long getRejected() { return rejected.sum(); }
+
+    void evictExpired(long nowMillis) {
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        revokedBefore.values().removeIf(before -> before + accessTtlMillis <= nowMillis);
+    }
+}
@@ -0,0 +1,151 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.dto.UserResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-limited cache of {@link UserResponse} by user id for GET /auth/me. Profile updates write
+ * through after commit and are announced on the {@link ProfileInvalidationBus} so other nodes drop their copy.
+ * When full, expired entries are swept first, then an arbitrary entry is evicted. Misses (unknown users) are
+ * not cached.
+ * <p>
+ * Also remembers, for one access-token lifetime, the newest profile version seen per changed user, so profile
+ * claims in older tokens can be detected as stale. A change announced by another node carries no version, so
+ * there every claim for that user counts as stale until the window passes (the DB/cache path answers instead).
+ * These versions live only in memory, so profile claims require invalidation=pg-notify; even then a node that
+ * restarts serves claims from tokens issued before a change until those tokens expire (access-ttl-min).
+ */
+@Component
+public class UserProfileCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long versionWindowNanos;
+    private final ProfileInvalidationBus invalidationBus;
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, MinVersion> minVersions = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public UserProfileCache(AuthProperties authProperties, ProfileInvalidationBus invalidationBus) {
+        AuthProperties.ProfileCache config = authProperties.getProfileCache();
+        if (authProperties.getJwt().isProfileClaims() && !"pg-notify".equals(config.getInvalidation())) {
+            throw new IllegalStateException(
+                    "app.auth.jwt.profile-claims needs app.auth.profile-cache.invalidation=pg-notify");
+        }
+        this.maxEntries = Math.max(0, config.getMaxEntries());
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(1, config.getTtlSec()));
+        this.versionWindowNanos = TimeUnit.MINUTES.toNanos(Math.max(1, authProperties.getJwt().getAccessTtlMin()));
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(userId -> {
+            invalidateLocal(userId);
+            recordVersion(userId, Integer.MAX_VALUE);
+        });
+    }
+
+    /** Cached profile, or load it (and cache it if present). */
+    public Optional<UserResponse> getOrLoad(UUID userId, Function<UUID, Optional<UserResponse>> loader) {
+        long now = System.nanoTime();
+        Entry cached = entries.get(userId);
+        if (cached != null && cached.expiresAtNanos - now > 0) {
+            hits.increment();
+            return Optional.of(cached.value);
+        }
+        misses.increment();
+        Optional<UserResponse> loaded = loader.apply(userId);
+        loaded.ifPresent(value -> put(userId, value, now));
+        return loaded;
+    }
+
+    /** Write-through for a changed profile: applied once the surrounding transaction (if any) commits. */
+    public void writeThrough(UUID userId, UserResponse value, int profileVersion) {
+        Runnable apply = () -> {
+            put(userId, value, System.nanoTime());
+            recordVersion(userId, profileVersion);
+            invalidationBus.publish(userId);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /** True if this node has seen a profile version for userId newer than the one in a token's claims. */
+    public boolean isStale(UUID userId, int claimedVersion) {
+        MinVersion min = minVersions.get(userId);
+        return min != null && min.expiresAtNanos - System.nanoTime() > 0 && claimedVersion < min.version;
+    }
+
+    /** Drop userId here and on every other node. */
+    public void invalidate(UUID userId) {
+        invalidateLocal(userId);
+        invalidationBus.publish(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.profile-cache.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        evictExpired(System.nanoTime());
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public int size() { return entries.size(); }
+
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private void invalidateLocal(UUID userId) {
+        entries.remove(userId);
+    }
+
+    private void put(UUID userId, UserResponse value, long now) {
+        if (maxEntries == 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(userId)) {
+            evictExpired(now);
+            Iterator<UUID> it = entries.keySet().iterator();
+            while (entries.size() >= maxEntries && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        entries.put(userId, new Entry(value, now + ttlNanos));
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(entry -> entry.expiresAtNanos - now <= 0);
+        minVersions.values().removeIf(min -> min.expiresAtNanos - now <= 0);
+    }
+
+    private void recordVersion(UUID userId, int version) {
+        MinVersion next = new MinVersion(version, System.nanoTime() + versionWindowNanos);
+        minVersions.merge(userId, next, (current, candidate) -> current.version > candidate.version
+                ? new MinVersion(current.version, candidate.expiresAtNanos) : candidate);
+    }
+
+    private record Entry(UserResponse value, long expiresAtNanos) {}
+
+    private record MinVersion(int version, long expiresAtNanos) {}
+}
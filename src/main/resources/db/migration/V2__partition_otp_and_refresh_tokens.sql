@@ -0,0 +1,81 @@
+-- Time-based (monthly, by created_at) partitioning for the two append-heavy tables, so retention can
+-- drop a whole month at once instead of deleting row by row. See RetentionService.
+-- - Partitions are named <table>_YYYYMM; a DEFAULT partition catches rows outside created ranges.
+-- - Primary keys must include the partition key: (id, created_at). token_hash uniqueness is now per
+--   (token_hash, created_at); the hash is SHA-256 of 32 random bytes, so global collisions are not a concern.
+
+CREATE OR REPLACE FUNCTION ensure_monthly_partition(parent TEXT, month_start DATE) RETURNS VOID AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::date;
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   parent || '_' || to_char(from_date, 'YYYYMM'), parent,
+                   from_date, (from_date + INTERVAL '1 month')::date);
+END;
+$$ LANGUAGE plpgsql;
+
+-- OTP verifications
+ALTER TABLE otp_verifications RENAME TO otp_verifications_old;
+ALTER TABLE otp_verifications_old RENAME CONSTRAINT otp_verifications_pkey TO otp_verifications_old_pkey;
+DROP INDEX idx_otp_phone_expires;
+
+CREATE TABLE otp_verifications (
+    id         UUID NOT NULL DEFAULT gen_random_uuid(),
+    phone      TEXT NOT NULL,
+    code       TEXT NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL,
+    used_at    TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE otp_verifications_default PARTITION OF otp_verifications DEFAULT;
+
+-- Refresh tokens
+ALTER TABLE refresh_tokens RENAME TO refresh_tokens_old;
+ALTER TABLE refresh_tokens_old RENAME CONSTRAINT refresh_tokens_pkey TO refresh_tokens_old_pkey;
+ALTER TABLE refresh_tokens_old RENAME CONSTRAINT refresh_tokens_token_hash_key TO refresh_tokens_old_token_hash_key;
+ALTER TABLE refresh_tokens_old RENAME CONSTRAINT refresh_tokens_user_id_fkey TO refresh_tokens_old_user_id_fkey;
+DROP INDEX idx_refresh_tokens_user;
+DROP INDEX idx_refresh_tokens_hash;
+
+CREATE TABLE refresh_tokens (
+    id         UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id    UUID NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    token_hash TEXT NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL,
+    revoked_at TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, created_at),
+    UNIQUE (token_hash, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE refresh_tokens_default PARTITION OF refresh_tokens DEFAULT;
+
+-- Monthly partitions from the oldest existing row up to two months ahead
+DO $$
+DECLARE
+    m DATE;
+BEGIN
+    m := date_trunc('month', LEAST(
+            COALESCE((SELECT min(created_at) FROM otp_verifications_old), now()),
+            COALESCE((SELECT min(created_at) FROM refresh_tokens_old), now())))::date;
+    WHILE m <= (date_trunc('month', now()) + INTERVAL '2 months')::date LOOP
+        PERFORM ensure_monthly_partition('otp_verifications', m);
+        PERFORM ensure_monthly_partition('refresh_tokens', m);
+        m := (m + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO otp_verifications (id, phone, code, expires_at, used_at, created_at)
+SELECT id, phone, code, expires_at, used_at, created_at FROM otp_verifications_old;
+DROP TABLE otp_verifications_old;
+
+INSERT INTO refresh_tokens (id, user_id, token_hash, expires_at, revoked_at, created_at)
+SELECT id, user_id, token_hash, expires_at, revoked_at, created_at FROM refresh_tokens_old;
+DROP TABLE refresh_tokens_old;
+
+-- Same indexes as V1, now defined on the partitioned parents
+CREATE INDEX idx_otp_phone_expires ON otp_verifications (phone, expires_at) WHERE used_at IS NULL;
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_tokens_hash ON refresh_tokens (token_hash) WHERE revoked_at IS NULL;
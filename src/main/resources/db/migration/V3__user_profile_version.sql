@@ -0,0 +1,3 @@
+-- Bumped on every profile change. Access tokens with embedded profile claims carry the version they were
+-- issued with, so a node that has seen a newer version knows the claims are stale (see JwtService).
+ALTER TABLE users ADD COLUMN profile_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,19 @@
+-- Access-token revocation for logout and "sign out all devices". Both tables are small (a row lives only as
+-- long as the access tokens it revokes) and are mirrored in memory by TokenRevocationService, so request
+-- authentication never queries them.
+
+-- One row per logged-out access token (jti claim); useless once expires_at has passed (see RetentionService).
+CREATE TABLE revoked_access_tokens (
+    token_id   TEXT PRIMARY KEY,
+    user_id    UUID NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    expires_at TIMESTAMPTZ NOT NULL,
+    revoked_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+CREATE INDEX idx_revoked_access_tokens_revoked_at ON revoked_access_tokens (revoked_at);
+
+-- Every access token of the user issued before revoked_before is rejected.
+CREATE TABLE user_token_revocations (
+    user_id        UUID PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE,
+    revoked_before TIMESTAMPTZ NOT NULL
+);
+CREATE INDEX idx_user_token_revocations_revoked_before ON user_token_revocations (revoked_before);
@@ -0,0 +1,18 @@
+-- Time-ordered (UUIDv7, RFC 9562) primary keys. The application assigns them for JPA inserts
+-- (TimeOrderedUuidGenerator); this default covers rows inserted by plain SQL (user upsert, bulk import).
+-- Random v4 keys scatter inserts over the whole primary-key B-tree; v7 keys append at its right edge.
+-- Layout: 48-bit Unix millis, version 7, random bits (no intra-millisecond counter on this side).
+-- Named uuid_generate_v7 so it does not clash with the built-in uuidv7() of Postgres 18+.
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS UUID AS $$
+    SELECT encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                    FROM 1 FOR 6),
+            52, 1), 53, 1),
+        'hex')::UUID;
+$$ LANGUAGE sql VOLATILE;
+
+ALTER TABLE users ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE otp_verifications ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE refresh_tokens ALTER COLUMN id SET DEFAULT uuid_generate_v7();
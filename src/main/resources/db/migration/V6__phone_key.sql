@@ -0,0 +1,79 @@
+-- Canonical phone key: E.164 digits as BIGINT (919876543210), computed by PhoneNormalizer. Lookups (login
+-- upsert, OTP consume, bulk import) use it instead of the TEXT column, so "+91 98765 43210", "09876543210" and
+-- "919876543210" are one user, and the index holds 8-byte keys instead of strings.
+-- The backfill below mirrors PhoneNormalizer for the default country (91, 10-digit national numbers).
+
+CREATE FUNCTION pg_temp.phone_key(raw TEXT) RETURNS BIGINT AS $$
+DECLARE
+    d TEXT := regexp_replace(raw, '[^0-9]', '', 'g');
+BEGIN
+    IF raw IS NULL OR raw ~ '[^0-9+ ().\t-]' OR d = '' THEN
+        RETURN NULL;
+    ELSIF btrim(raw) LIKE '+%' THEN
+        d := CASE WHEN d LIKE '0%' THEN NULL ELSE d END;
+    ELSIF d LIKE '00%' THEN
+        d := substr(d, 3);
+    ELSIF d LIKE '0%' THEN
+        d := CASE WHEN length(d) = 11 THEN '91' || substr(d, 2) END;
+    ELSIF length(d) = 10 THEN
+        d := '91' || d;
+    ELSIF length(d) < 11 THEN
+        d := NULL;
+    END IF;
+    RETURN CASE WHEN length(d) BETWEEN 8 AND 15 AND d NOT LIKE '0%' THEN d::BIGINT END;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+-- Users. A phone the normalizer rejects fails the migration, listing the ids: fix or clear those phones and
+-- rerun. Spellings that collapse to one key were separate accounts of one person; they are merged into the
+-- one with a name, else the oldest. It takes over the others' refresh tokens and revocations (and their email
+-- if it has none), then they are deleted. users.phone is rewritten to the canonical digits; its unique index
+-- is replaced by the key's.
+ALTER TABLE users ADD COLUMN phone_key BIGINT;
+DROP INDEX idx_users_phone;
+
+DO $$
+DECLARE
+    unparseable TEXT;
+BEGIN
+    SELECT count(*) || ' user(s), ids: ' || string_agg(id::TEXT, ', ' ORDER BY id) INTO unparseable
+    FROM users WHERE phone IS NOT NULL AND pg_temp.phone_key(phone) IS NULL HAVING count(*) > 0;
+    IF unparseable IS NOT NULL THEN
+        RAISE EXCEPTION 'phones not accepted by PhoneNormalizer: %', unparseable
+            USING HINT = 'Correct these users.phone values (or set them to NULL) and rerun the migration.';
+    END IF;
+END $$;
+
+CREATE TEMP TABLE phone_merge ON COMMIT DROP AS
+SELECT id AS loser_id, first_value(id) OVER w AS survivor_id, row_number() OVER w AS rn, email
+FROM users
+WHERE phone IS NOT NULL
+WINDOW w AS (PARTITION BY pg_temp.phone_key(phone) ORDER BY (name <> '') DESC, created_at, id);
+DELETE FROM phone_merge WHERE rn = 1;
+
+UPDATE refresh_tokens t SET user_id = m.survivor_id FROM phone_merge m WHERE t.user_id = m.loser_id;
+UPDATE revoked_access_tokens t SET user_id = m.survivor_id FROM phone_merge m WHERE t.user_id = m.loser_id;
+INSERT INTO user_token_revocations (user_id, revoked_before)
+SELECT m.survivor_id, max(r.revoked_before)
+FROM user_token_revocations r JOIN phone_merge m ON r.user_id = m.loser_id
+GROUP BY m.survivor_id
+ON CONFLICT (user_id) DO UPDATE SET revoked_before = GREATEST(user_token_revocations.revoked_before, EXCLUDED.revoked_before);
+
+UPDATE users SET email = NULL WHERE id IN (SELECT loser_id FROM phone_merge WHERE email IS NOT NULL);
+UPDATE users u SET email = m.email, updated_at = now()
+FROM (SELECT DISTINCT ON (survivor_id) survivor_id, email FROM phone_merge WHERE email IS NOT NULL
+      ORDER BY survivor_id, rn) m
+WHERE u.id = m.survivor_id AND u.email IS NULL;
+
+DELETE FROM users WHERE id IN (SELECT loser_id FROM phone_merge);
+
+UPDATE users SET phone_key = pg_temp.phone_key(phone) WHERE phone IS NOT NULL;
+UPDATE users SET phone = phone_key::TEXT WHERE phone_key IS NOT NULL AND phone <> phone_key::TEXT;
+
+CREATE UNIQUE INDEX idx_users_phone_key ON users (phone_key) WHERE phone_key IS NOT NULL;
+
+-- OTP verifications: only live codes need a key; older rows are audit history.
+ALTER TABLE otp_verifications ADD COLUMN phone_key BIGINT;
+UPDATE otp_verifications SET phone_key = pg_temp.phone_key(phone) WHERE used_at IS NULL AND expires_at > now();
+DROP INDEX idx_otp_phone_expires;
+CREATE INDEX idx_otp_phone_key_expires ON otp_verifications (phone_key, expires_at) WHERE used_at IS NULL;
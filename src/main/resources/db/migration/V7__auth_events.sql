@@ -0,0 +1,32 @@
+-- Append-only log of auth events (OTP requests, logins, refreshes, profile updates) for analytics and audit,
+-- written in batches by AuthEventOutbox. Never updated; retention drops whole months (see RetentionService).
+-- - Monthly partitions by occurred_at, named auth_events_YYYYMM, like V2; DEFAULT catches anything outside them.
+-- - No foreign keys: events outlive the users and tokens they mention, and inserts skip the FK lookups.
+-- - client_ip is INET (7 bytes for IPv4 instead of up to 16 as text).
+
+CREATE TABLE auth_events (
+    id          UUID NOT NULL,
+    occurred_at TIMESTAMPTZ NOT NULL,
+    event_type  TEXT NOT NULL,
+    user_id     UUID,
+    phone_key   BIGINT,
+    client_ip   INET,
+    detail      TEXT,
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+CREATE TABLE auth_events_default PARTITION OF auth_events DEFAULT;
+
+DO $$
+DECLARE
+    m DATE := date_trunc('month', now())::date;
+BEGIN
+    WHILE m <= (date_trunc('month', now()) + INTERVAL '2 months')::date LOOP
+        PERFORM ensure_monthly_partition('auth_events', m);
+        m := (m + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Per-user and per-phone audit trails; time-range analytics rely on partition pruning
+CREATE INDEX idx_auth_events_user ON auth_events (user_id, occurred_at) WHERE user_id IS NOT NULL;
+CREATE INDEX idx_auth_events_phone ON auth_events (phone_key, occurred_at) WHERE phone_key IS NOT NULL;
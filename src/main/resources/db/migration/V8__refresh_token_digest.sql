@@ -0,0 +1,34 @@
+-- Refresh-token hashes as the raw 32-byte SHA-256 (token_digest BYTEA) instead of 64 hex characters (TEXT),
+-- halving the key in the unique constraint and the live-token index. This is the expand step of a rolling
+-- upgrade, while nodes of the previous release still read and write token_hash:
+-- - A trigger fills whichever of the two columns an insert leaves out: old nodes write only token_hash, new
+--   nodes only token_digest. Every row has both, so either release finds every token.
+-- - Uniqueness moves to token_digest (same guarantee); idx_refresh_tokens_hash stays for old nodes' lookups.
+-- Once no node of the previous release is left, a later migration drops the trigger, idx_refresh_tokens_hash
+-- and token_hash.
+
+ALTER TABLE refresh_tokens ADD COLUMN token_digest BYTEA;
+
+CREATE FUNCTION refresh_tokens_fill_hash() RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.token_digest IS NULL THEN
+        NEW.token_digest := decode(NEW.token_hash, 'hex');
+    ELSIF NEW.token_hash IS NULL THEN
+        NEW.token_hash := encode(NEW.token_digest, 'hex');
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER refresh_tokens_fill_hash BEFORE INSERT ON refresh_tokens
+    FOR EACH ROW EXECUTE FUNCTION refresh_tokens_fill_hash();
+
+UPDATE refresh_tokens SET token_digest = decode(token_hash, 'hex');
+
+ALTER TABLE refresh_tokens ALTER COLUMN token_digest SET NOT NULL;
+ALTER TABLE refresh_tokens ADD CONSTRAINT refresh_tokens_token_digest_length CHECK (octet_length(token_digest) = 32);
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash DROP NOT NULL;
+
+ALTER TABLE refresh_tokens DROP CONSTRAINT refresh_tokens_token_hash_created_at_key;
+ALTER TABLE refresh_tokens ADD CONSTRAINT refresh_tokens_token_digest_created_at_key UNIQUE (token_digest, created_at);
+CREATE INDEX idx_refresh_tokens_digest ON refresh_tokens (token_digest) WHERE revoked_at IS NULL;
@@ -0,0 +1,47 @@
+-- Retention without blocking auth traffic (see RetentionService):
+-- - Old partitions are now detached with DETACH PARTITION ... CONCURRENTLY before they are dropped; a plain
+--   DROP TABLE takes ACCESS EXCLUSIVE on the parent. Postgres refuses a concurrent detach while the parent
+--   has a DEFAULT partition, so the DEFAULT partitions of V2 and V7 go: their rows move to monthly
+--   partitions created for them. Every insert now needs its month's partition, which PartitionMaintenance keeps
+--   months-ahead in advance (the loop below covers the first two months).
+-- - The batched retention deletes filter on expires_at / used_at / revoked_at; they get indexes.
+-- Token uniqueness: a unique constraint on a partitioned table must include the partition key, so
+-- refresh_tokens is unique on (token_digest, created_at), not on token_digest alone. The digest is SHA-256
+-- of 32 random bytes, so two rows in different months with one digest would take a SHA-256 collision;
+-- lookups rely on nothing stronger than that.
+
+CREATE FUNCTION pg_temp.drop_default_partition(parent TEXT, partition_key TEXT) RETURNS VOID AS $$
+DECLARE
+    default_partition TEXT := parent || '_default';
+    m DATE;
+BEGIN
+    EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent, default_partition);
+    FOR m IN EXECUTE format('SELECT DISTINCT date_trunc(''month'', %I)::date FROM %I', partition_key, default_partition) LOOP
+        PERFORM ensure_monthly_partition(parent, m);
+    END LOOP;
+    EXECUTE format('INSERT INTO %I SELECT * FROM %I', parent, default_partition);
+    EXECUTE format('DROP TABLE %I', default_partition);
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    m DATE := date_trunc('month', now())::date;
+BEGIN
+    WHILE m <= (date_trunc('month', now()) + INTERVAL '2 months')::date LOOP
+        PERFORM ensure_monthly_partition('otp_verifications', m);
+        PERFORM ensure_monthly_partition('refresh_tokens', m);
+        PERFORM ensure_monthly_partition('auth_events', m);
+        m := (m + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+SELECT pg_temp.drop_default_partition('otp_verifications', 'created_at');
+SELECT pg_temp.drop_default_partition('refresh_tokens', 'created_at');
+SELECT pg_temp.drop_default_partition('auth_events', 'occurred_at');
+
+CREATE INDEX idx_otp_expires_at ON otp_verifications (expires_at);
+CREATE INDEX idx_otp_used_at ON otp_verifications (used_at) WHERE used_at IS NOT NULL;
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+CREATE INDEX idx_refresh_tokens_revoked_at ON refresh_tokens (revoked_at) WHERE revoked_at IS NOT NULL;
+CREATE INDEX idx_revoked_access_tokens_expires_at ON revoked_access_tokens (expires_at);
@@ -0,0 +1,15 @@
+package com.scube.society_app_backend;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=false",
+        ThreadingModeBenchmarkSupport.SYNC_SMS,
+        ThreadingModeBenchmarkSupport.NO_RATE_LIMIT,
+        ThreadingModeBenchmarkSupport.TOMCAT_THREADS,
+        ThreadingModeBenchmarkSupport.POOL_WAIT
+})
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class PlatformThreadsBenchmarkTests extends ThreadingModeBenchmarkSupport {
+}
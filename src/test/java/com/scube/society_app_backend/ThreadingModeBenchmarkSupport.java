@@ -0,0 +1,189 @@
+package com.scube.society_app_backend;
+
+import com.scube.society_app_backend.service.PhoneNormalizer;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Concurrent OTP request + login journeys against a running server, with SMS sends going (synchronously)
+ * to a local stub that adds provider latency. Subclasses fix the threading mode; compare their output.
+ * Needs a database; run with {@code -Dbenchmarks=true}.
+ */
+abstract class ThreadingModeBenchmarkSupport {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeBenchmarkSupport.class);
+
+    /** Blocking SMS sends on the request thread, no rate limits, default-ish Tomcat pool. */
+    static final String SYNC_SMS = "app.auth.sms.async-enabled=false";
+    static final String NO_RATE_LIMIT = "app.auth.rate-limit.enabled=false";
+    static final String TOMCAT_THREADS = "server.tomcat.threads.max=100";
+    /** Queueing for a connection shows up as latency; it must not fail the journey at the 5 s production cap. */
+    static final String POOL_WAIT = "spring.datasource.hikari.connection-timeout=60000";
+
+    private static final int CONCURRENT_USERS = 200;
+    private static final int JOURNEYS = 1_000;
+    private static final long SMS_LATENCY_MS = 100;
+    /**
+     * National numbers 55xxxxxxxx: accepted by PhoneNormalizer (keys 9155xxxxxxxx) but not valid Indian mobiles,
+     * so they can't clash with real users.
+     */
+    private static final String BENCH_PHONE_PREFIX = "55";
+    private static final String BENCH_PHONE_FIRST = BENCH_PHONE_PREFIX + "00000000";
+    private static final String BENCH_PHONE_LAST = BENCH_PHONE_PREFIX + "99999999";
+
+    /** Distinct phones per journey, so concurrent journeys never read each other's code. */
+    private static final AtomicLong PHONE_SEQUENCE = new AtomicLong(ThreadLocalRandom.current().nextLong(100_000_000L));
+
+    private static final HttpServer SMS_STUB = startSmsStub();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PhoneNormalizer phoneNormalizer;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @DynamicPropertySource
+    static void smsStub(DynamicPropertyRegistry registry) {
+        registry.add("app.auth.sms.two-factor-base-url", () -> "http://127.0.0.1:" + SMS_STUB.getAddress().getPort());
+        registry.add("app.auth.sms.two-factor-api-key", () -> "bench");
+        registry.add("app.auth.sms.max-connections", () -> CONCURRENT_USERS);
+        registry.add("app.auth.sms.provider-max-concurrency", () -> CONCURRENT_USERS);
+    }
+
+    @AfterEach
+    void deleteBenchmarkRows() {
+        long first = phoneNormalizer.toKey(BENCH_PHONE_FIRST);
+        long last = phoneNormalizer.toKey(BENCH_PHONE_LAST);
+        jdbcTemplate.update("DELETE FROM users WHERE phone_key BETWEEN ? AND ?", first, last);
+        jdbcTemplate.update("DELETE FROM otp_verifications WHERE phone_key BETWEEN ? AND ?", first, last);
+    }
+
+    @Test
+    void otpAndLoginUnderConcurrentLoad() throws Exception {
+        List<Long> otpNanos = Collections.synchronizedList(new ArrayList<>());
+        List<Long> loginNanos = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong failures = new AtomicLong();
+        AtomicReference<String> firstFailure = new AtomicReference<>();
+
+        long start = System.nanoTime();
+        try (ExecutorService users = Executors.newFixedThreadPool(CONCURRENT_USERS, Thread.ofVirtual().factory())) {
+            List<Future<?>> journeys = new ArrayList<>();
+            for (int i = 0; i < JOURNEYS; i++) {
+                journeys.add(users.submit(() -> {
+                    String failure = journey(otpNanos, loginNanos);
+                    if (failure != null) {
+                        failures.incrementAndGet();
+                        firstFailure.compareAndSet(null, failure);
+                    }
+                }));
+            }
+            for (Future<?> f : journeys) f.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        log.info("[{}] journeys={} concurrency={} failures={} throughput={} journeys/s", getClass().getSimpleName(),
+                JOURNEYS, CONCURRENT_USERS, failures.get(), String.format("%.1f", JOURNEYS / seconds));
+        report("otp/request", otpNanos);
+        report("login", loginNanos);
+        assertEquals(0, failures.get(), "failed journeys, first: " + firstFailure.get());
+    }
+
+    /** Null on success, else what went wrong. */
+    private String journey(List<Long> otpNanos, List<Long> loginNanos) {
+        String phone = BENCH_PHONE_PREFIX + String.format("%08d", PHONE_SEQUENCE.incrementAndGet() % 100_000_000L);
+        try {
+            long t0 = System.nanoTime();
+            HttpResponse<String> otp = post("/auth/otp/request", "{\"phone\":\"" + phone + "\"}");
+            otpNanos.add(System.nanoTime() - t0);
+            if (otp.statusCode() != 200) {
+                return "otp/request " + otp.statusCode() + ": " + otp.body();
+            }
+            String code = jdbcTemplate.queryForObject(
+                    "SELECT code FROM otp_verifications WHERE phone_key = ? ORDER BY created_at DESC LIMIT 1",
+                    String.class, phoneNormalizer.toKey(phone));
+            long t1 = System.nanoTime();
+            HttpResponse<String> login = post("/auth/login", "{\"phone\":\"" + phone + "\",\"otp\":\"" + code + "\"}");
+            loginNanos.add(System.nanoTime() - t1);
+            return login.statusCode() == 200 ? null : "login " + login.statusCode() + ": " + login.body();
+        } catch (Exception e) {
+            return e.toString();
+        }
+    }
+
+    private HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void report(String label, List<Long> nanos) {
+        List<Long> sorted = new ArrayList<>(nanos);
+        Collections.sort(sorted);
+        if (sorted.isEmpty()) return;
+        log.info("  {} n={} p50={} ms p99={} ms max={} ms", label, sorted.size(),
+                sorted.get(sorted.size() / 2) / 1_000_000,
+                sorted.get((int) (sorted.size() * 0.99)) / 1_000_000,
+                sorted.get(sorted.size() - 1) / 1_000_000);
+    }
+
+    private static HttpServer startSmsStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/", exchange -> {
+                try {
+                    Thread.sleep(SMS_LATENCY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = "{\"Status\":\"Success\"}".getBytes();
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.scube.society_app_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The "replica" is the test database itself, tagged via ApplicationName so the serving pool is visible.
+ * For a real streaming replica set REPLICA_TEST_URL (include ApplicationName=replica-0).
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.urls[0]=${REPLICA_TEST_URL:jdbc:postgresql://localhost:5432/society_app?ApplicationName=replica-0}",
+        "app.datasource.replica.urls[1]=jdbc:postgresql://localhost:1/society_app",
+        "app.datasource.replica.connection-timeout-ms=250",
+        "app.datasource.replica.lag-check-interval-ms=60000"
+})
+class ReplicaRoutingTests {
+
+    private static final String APP_NAME = "SELECT current_setting('application_name')";
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void checkLag() {
+        routing.checkReplicas();
+    }
+
+    @Test
+    void unreachableReplicaIsExcluded() {
+        assertEquals(2, routing.getReplicaCount());
+        assertEquals(1, routing.getHealthyReplicaCount());
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertEquals("replica-0", readOnly.execute(status -> jdbcTemplate.queryForObject(APP_NAME, String.class)));
+    }
+
+    @Test
+    void writesAndNonTransactionalWorkStayOnPrimary() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        String inTx = readWrite.execute(status -> jdbcTemplate.queryForObject(APP_NAME, String.class));
+        String noTx = jdbcTemplate.queryForObject(APP_NAME, String.class);
+
+        assertEquals("PostgreSQL JDBC Driver", inTx);
+        assertEquals("PostgreSQL JDBC Driver", noTx);
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() throws Exception {
+        HikariDataSource primary = new HikariDataSource();
+        primary.setJdbcUrl("jdbc:postgresql://localhost:5432/society_app?ApplicationName=primary");
+        primary.setUsername("postgres");
+        primary.setPassword("postgres");
+        HikariDataSource replica = new HikariDataSource();
+        replica.setJdbcUrl("jdbc:postgresql://localhost:5432/society_app?ApplicationName=replica-0");
+        replica.setUsername("postgres");
+        replica.setPassword("postgres");
+
+        // max lag below zero: every replica counts as lagging
+        try (ReplicaRoutingDataSource lagging = new ReplicaRoutingDataSource(primary, List.of(replica), -1, 60_000);
+             primary) {
+            lagging.checkReplicas();
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            try (Connection connection = lagging.getConnection();
+                 ResultSet rs = connection.createStatement().executeQuery(APP_NAME)) {
+                rs.next();
+                assertEquals(0, lagging.getHealthyReplicaCount());
+                assertEquals("primary", rs.getString(1));
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.scube.society_app_backend.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void idsAreVersion7WithTheCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuidGenerator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void idsIncreaseEvenWithinOneMillisecond() {
+        UUID previous = TimeOrderedUuidGenerator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = TimeOrderedUuidGenerator.next();
+            // Postgres orders uuid bytewise, i.e. as unsigned; the top bit of msb is 0 until the year 10889.
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = next;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.scube.society_app_backend.repository;
+
+import com.scube.society_app_backend.entity.TimeOrderedUuidGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Insert throughput and primary-key index size with random (v4) vs time-ordered (v7) ids, on scratch copies
+ * of otp_verifications and refresh_tokens (same columns, primary key and indexes, not partitioned). Rows go in
+ * as JDBC batches, as the audit writer and Hibernate batching do. Needs a database; run with
+ * {@code -Dbenchmarks=true} and optionally {@code -Dbenchmark.rows=N} (default 1,000,000 per table). Fails if
+ * time-ordered ids do not give the smaller primary key.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class UuidKeyBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(UuidKeyBenchmarkTests.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int BATCH = 1_000;
+
+    private static final String OTP_DDL = "CREATE TABLE %t (id UUID NOT NULL, phone TEXT NOT NULL, code TEXT NOT NULL,"
+            + " expires_at TIMESTAMPTZ NOT NULL, used_at TIMESTAMPTZ, created_at TIMESTAMPTZ NOT NULL DEFAULT now(),"
+            + " PRIMARY KEY (id, created_at));"
+            + " CREATE INDEX ON %t (phone, expires_at) WHERE used_at IS NULL";
+    private static final String OTP_INSERT = "INSERT INTO %t (id, phone, code, expires_at) VALUES (?, ?, ?, ?)";
+    private static final String REFRESH_DDL = "CREATE TABLE %t (id UUID NOT NULL, user_id UUID NOT NULL,"
+            + " token_hash TEXT NOT NULL, expires_at TIMESTAMPTZ NOT NULL, revoked_at TIMESTAMPTZ,"
+            + " created_at TIMESTAMPTZ NOT NULL DEFAULT now(),"
+            + " PRIMARY KEY (id, created_at), UNIQUE (token_hash, created_at));"
+            + " CREATE INDEX ON %t (user_id)";
+    private static final String REFRESH_INSERT =
+            "INSERT INTO %t (id, user_id, token_hash, expires_at) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void dropScratchTables() {
+        for (String table : List.of("bench_otp_v4", "bench_otp_v7", "bench_refresh_v4", "bench_refresh_v7")) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        }
+    }
+
+    @Test
+    void compareRandomAndTimeOrderedKeys() {
+        long otpV4 = report("otp_verifications, v4", "bench_otp_v4", UUID::randomUUID, OTP_DDL, OTP_INSERT,
+                UuidKeyBenchmarkTests::otpRow);
+        long otpV7 = report("otp_verifications, v7", "bench_otp_v7", TimeOrderedUuidGenerator::next, OTP_DDL, OTP_INSERT,
+                UuidKeyBenchmarkTests::otpRow);
+        long refreshV4 = report("refresh_tokens,    v4", "bench_refresh_v4", UUID::randomUUID, REFRESH_DDL,
+                REFRESH_INSERT, UuidKeyBenchmarkTests::refreshRow);
+        long refreshV7 = report("refresh_tokens,    v7", "bench_refresh_v7", TimeOrderedUuidGenerator::next, REFRESH_DDL,
+                REFRESH_INSERT, UuidKeyBenchmarkTests::refreshRow);
+
+        // Appending in key order fills leaf pages; random keys split them half-empty
+        assertTrue(otpV7 <= otpV4, "otp_verifications pkey: v7 " + otpV7 + " bytes > v4 " + otpV4);
+        assertTrue(refreshV7 <= refreshV4, "refresh_tokens pkey: v7 " + refreshV7 + " bytes > v4 " + refreshV4);
+    }
+
+    /** Fills a scratch table, logs insert rate and index sizes, and returns the primary-key size in bytes. */
+    private long report(String label, String table, Supplier<UUID> ids, String ddl, String insert,
+                        BiFunction<UUID, Integer, Object[]> rows) {
+        jdbcTemplate.execute(ddl.replace("%t", table));
+        insert = insert.replace("%t", table);
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(rows.apply(ids.get(), i));
+            if (batch.size() == BATCH) {
+                jdbcTemplate.batchUpdate(insert, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) jdbcTemplate.batchUpdate(insert, batch);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        jdbcTemplate.execute("VACUUM ANALYZE " + table);
+        long pkeyBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+        long indexBytes = jdbcTemplate.queryForObject("SELECT pg_indexes_size(?::regclass)", Long.class, table);
+        log.info("{}: {} rows in {} ms ({} rows/s), pkey {} MB, all indexes {} MB", label, ROWS, millis,
+                ROWS * 1_000L / Math.max(1, millis), pkeyBytes >> 20, indexBytes >> 20);
+        return pkeyBytes;
+    }
+
+    private static Object[] otpRow(UUID id, int i) {
+        return new Object[] {id, "9198" + (10_000_000 + i % 50_000), "123456", Timestamp.from(Instant.now().plusSeconds(600))};
+    }
+
+    private static Object[] refreshRow(UUID id, int i) {
+        return new Object[] {id, new UUID(0, i % 50_000), UUID.randomUUID().toString() + UUID.randomUUID(),
+                Timestamp.from(Instant.now().plusSeconds(604_800))};
+    }
+}
@@ -0,0 +1,98 @@
+package com.scube.society_app_backend.security;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.service.JwtService;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AccessTokenCacheTest {
+
+    private final AuthProperties properties = new AuthProperties();
+    private final JwtService jwtService = new JwtService(properties);
+
+    @Test
+    void secondLookupIsServedFromCache() {
+        AccessTokenCache cache = new AccessTokenCache(jwtService, properties);
+        UUID userId = UUID.randomUUID();
+        String token = jwtService.issueAccessToken(userId);
+
+        assertEquals(userId, cache.resolve(token));
+        assertEquals(userId, cache.resolve(token));
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void profileClaimsAreReturnedFromCache() {
+        AccessTokenCache cache = new AccessTokenCache(jwtService, properties);
+        UUID userId = UUID.randomUUID();
+        String token = jwtService.issueAccessToken(userId, new JwtService.ProfileClaims("919876543210", "Asha", 3));
+
+        cache.resolveVerified(token);
+        JwtService.VerifiedAccessToken cached = cache.resolveVerified(token);
+
+        assertEquals(1, cache.getHits());
+        assertEquals(new JwtService.ProfileClaims("919876543210", "Asha", 3), cached.profile());
+        assertNull(cache.resolveVerified(jwtService.issueAccessToken(userId)).profile());
+    }
+
+    @Test
+    void invalidTokenIsRejectedAndNotCached() {
+        AccessTokenCache cache = new AccessTokenCache(jwtService, properties);
+
+        assertThrows(Exception.class, () -> cache.resolve("not-a-jwt"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void disabledCacheAlwaysVerifies() {
+        properties.getJwt().setTokenCacheMaxEntries(0);
+        AccessTokenCache cache = new AccessTokenCache(jwtService, properties);
+        String token = jwtService.issueAccessToken(UUID.randomUUID());
+
+        cache.resolve(token);
+        cache.resolve(token);
+
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void fullCacheEvictsOldestEntry() {
+        properties.getJwt().setTokenCacheMaxEntries(2);
+        AccessTokenCache cache = new AccessTokenCache(jwtService, properties);
+        String first = jwtService.issueAccessToken(UUID.randomUUID());
+        String second = jwtService.issueAccessToken(UUID.randomUUID());
+        String third = jwtService.issueAccessToken(UUID.randomUUID());
+
+        cache.resolve(first);
+        cache.resolve(second);
+        cache.resolve(third);
+        assertEquals(2, cache.size());
+
+        cache.resolve(second);
+        cache.resolve(third);
+        assertEquals(2, cache.getHits());
+        cache.resolve(first);
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    void sweepDropsExpiredEntries() {
+        AccessTokenCache cache = new AccessTokenCache(jwtService, properties);
+        cache.resolve(jwtService.issueAccessToken(UUID.randomUUID()));
+
+        cache.evictExpired(System.currentTimeMillis());
+        assertEquals(1, cache.size());
+        cache.evictExpired(System.currentTimeMillis() + (jwtService.getAccessTtlSeconds() + 1) * 1000);
+        assertEquals(0, cache.size());
+    }
+}
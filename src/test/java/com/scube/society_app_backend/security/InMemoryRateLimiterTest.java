@@ -0,0 +1,45 @@
+package com.scube.society_app_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryRateLimiterTest {
+
+    private final InMemoryRateLimiter limiter = new InMemoryRateLimiter();
+    private final RateLimiter.Limit threePerMinute = new RateLimiter.Limit(3, 60);
+
+    @Test
+    void rejectsOnceCapacityIsUsedAndReportsRetryAfter() {
+        long t0 = 0;
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("k", threePerMinute, t0).allowed());
+        }
+        RateLimiter.Decision denied = limiter.tryAcquire("k", threePerMinute, t0);
+
+        assertFalse(denied.allowed());
+        assertEquals(20, denied.retryAfterSeconds());
+    }
+
+    @Test
+    void refillsOverTime() {
+        long t0 = 0;
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("k", threePerMinute, t0);
+        }
+        assertFalse(limiter.tryAcquire("k", threePerMinute, t0 + TimeUnit.SECONDS.toNanos(19)).allowed());
+        assertTrue(limiter.tryAcquire("k", threePerMinute, t0 + TimeUnit.SECONDS.toNanos(40)).allowed());
+    }
+
+    @Test
+    void keysAreIndependent() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a", threePerMinute, 0);
+        }
+        assertTrue(limiter.tryAcquire("b", threePerMinute, 0).allowed());
+    }
+}
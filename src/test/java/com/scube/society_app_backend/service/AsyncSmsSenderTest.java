@@ -0,0 +1,79 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class AsyncSmsSenderTest {
+
+    private final AuthMetrics metrics = new AuthMetrics(new SimpleMeterRegistry());
+
+    @Test
+    void sendReturnsBeforeProviderCompletes() throws Exception {
+        DefaultSmsSender provider = mock(DefaultSmsSender.class);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> release.await(5, TimeUnit.SECONDS)).when(provider).sendOtp(anyString(), anyString(), anyInt());
+        AsyncSmsSender sender = new AsyncSmsSender(provider, new AuthProperties(), metrics, false);
+
+        sender.sendOtp("919876543210", "123456", 10);
+        release.countDown();
+
+        verify(provider, timeout(2000)).sendOtp("919876543210", "123456", 10);
+        sender.shutdown();
+    }
+
+    @Test
+    void rejectPolicyThrowsWhenQueueIsFull() throws Exception {
+        DefaultSmsSender provider = mock(DefaultSmsSender.class);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(inv -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).when(provider).sendOtp(anyString(), anyString(), anyInt());
+        AuthProperties properties = new AuthProperties();
+        properties.getSms().setWorkers(1);
+        properties.getSms().setWorkerBatchSize(1);
+        properties.getSms().setQueueCapacity(1);
+        properties.getSms().setQueueFullPolicy(AsyncSmsSender.POLICY_REJECT);
+        AsyncSmsSender sender = new AsyncSmsSender(provider, properties, metrics, true);
+
+        sender.sendOtp("919876543210", "111111", 10);
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        sender.sendOtp("919876543210", "222222", 10);
+        assertThrows(SmsQueueFullException.class, () -> sender.sendOtp("919876543210", "333333", 10));
+        assertEquals(1, sender.getRejected());
+
+        release.countDown();
+        sender.shutdown();
+    }
+
+    @Test
+    void providerFailureIsCounted() throws Exception {
+        DefaultSmsSender provider = mock(DefaultSmsSender.class);
+        doThrow(new SmsDeliveryException("2Factor send failed", null))
+                .when(provider).sendOtp(anyString(), anyString(), anyInt());
+        AsyncSmsSender sender = new AsyncSmsSender(provider, new AuthProperties(), metrics, false);
+
+        sender.sendOtp("919876543210", "123456", 10);
+
+        verify(provider, timeout(2000)).sendOtp("919876543210", "123456", 10);
+        sender.shutdown();
+        assertEquals(1, sender.getFailed());
+        assertEquals(0, sender.getSent());
+    }
+}
@@ -0,0 +1,42 @@
+package com.scube.society_app_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class AuthEventOutboxTests {
+
+    @Autowired
+    private AuthEventOutbox outbox;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void eventsAreWrittenWithPhoneKeyAndClientIp() {
+        UUID userId = UUID.randomUUID();
+        outbox.loginSucceeded("10.1.2.3", "+91 98765 43210", userId);
+        outbox.tokenRefreshed("10.1.2.3", userId);
+        outbox.loginFailed("10.1.2.4", "not a phone", "invalid phone");
+        outbox.flush();
+
+        Map<String, Object> login = jdbcTemplate.queryForMap(
+                "SELECT event_type, phone_key, host(client_ip) AS ip, detail FROM auth_events"
+                        + " WHERE user_id = ? ORDER BY occurred_at, event_type LIMIT 1", userId);
+        assertEquals("login_succeeded", login.get("event_type"));
+        assertEquals(919876543210L, login.get("phone_key"));
+        assertEquals("10.1.2.3", login.get("ip"));
+        assertNull(login.get("detail"));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM auth_events WHERE user_id = ?", Integer.class, userId));
+        assertEquals(0, outbox.getLagMillis());
+    }
+}
@@ -0,0 +1,80 @@
+package com.scube.society_app_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthEventRingTest {
+
+    @Test
+    void rejectsWhenFullAndFreesSlotsOnDrain() {
+        AuthEventRing ring = new AuthEventRing(3);
+        assertEquals(4, ring.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(event(i)));
+        }
+        assertFalse(ring.offer(event(4)));
+
+        List<AuthEvent> out = new ArrayList<>();
+        assertEquals(2, ring.drainTo(out, 2));
+        assertTrue(ring.offer(event(4)));
+        assertEquals(3, ring.drainTo(out, 10));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), out.stream().map(AuthEvent::occurredAtMillis).toList());
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    void concurrentProducersLoseNothingAndKeepPerProducerOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        AuthEventRing ring = new AuthEventRing(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String producer = Integer.toString(p);
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    AuthEvent event = new AuthEvent(AuthEvent.Type.OTP_REQUESTED, i, null, producer, null, null);
+                    while (!ring.offer(event)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+        start.countDown();
+
+        long[] next = new long[producers];
+        List<AuthEvent> batch = new ArrayList<>();
+        int received = 0;
+        while (received < producers * perProducer) {
+            batch.clear();
+            received += ring.drainTo(batch, 256);
+            for (AuthEvent event : batch) {
+                int p = Integer.parseInt(event.phone());
+                assertEquals(next[p]++, event.occurredAtMillis());
+            }
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        for (long n : next) {
+            assertEquals(perProducer, n);
+        }
+    }
+
+    private static AuthEvent event(long seq) {
+        return new AuthEvent(AuthEvent.Type.LOGIN_SUCCEEDED, seq, UUID.randomUUID(), null, "127.0.0.1", null);
+    }
+}
@@ -0,0 +1,123 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.dto.LoginResponse;
+import com.scube.society_app_backend.entity.User;
+import com.scube.society_app_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many threads race to use the same OTP / refresh token (exactly one may win) or to create the same user.
+ */
+@SpringBootTest
+class AuthServiceConcurrencyTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private OtpStore otpStore;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void otpIsConsumedExactlyOnce() throws Exception {
+        String phone = existingUserPhone();
+        otpStore.save(Long.parseLong(phone), "424242", Instant.now().plusSeconds(600));
+
+        int successes = race(() -> authService.login(phone, "424242"));
+
+        assertEquals(1, successes);
+    }
+
+    @Test
+    void refreshTokenIsRotatedExactlyOnce() throws Exception {
+        String phone = existingUserPhone();
+        otpStore.save(Long.parseLong(phone), "515151", Instant.now().plusSeconds(600));
+        String refreshToken = authService.login(phone, "515151").refresh_token();
+
+        int successes = race(() -> authService.refresh(refreshToken));
+
+        assertEquals(1, successes);
+    }
+
+    @Test
+    void concurrentFirstLoginsResolveToOneUser() throws Exception {
+        String phone = "98" + ThreadLocalRandom.current().nextLong(10_000_000_000L, 99_999_999_999L);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                String code = String.format("%06d", i);
+                otpStore.save(Long.parseLong(phone), code, Instant.now().plusSeconds(600));
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return authService.login(phone, code).user().id();
+                }));
+            }
+            start.countDown();
+            Set<String> userIds = new HashSet<>();
+            for (Future<String> f : results) {
+                userIds.add(f.get());
+            }
+            assertEquals(1, userIds.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private String existingUserPhone() {
+        User user = new User();
+        long phoneKey = 99_000_000_000_000L + ThreadLocalRandom.current().nextLong(1_000_000_000_000L);
+        user.setPhone(Long.toString(phoneKey));
+        user.setPhoneKey(phoneKey);
+        user.setName("");
+        return userRepository.save(user).getPhone();
+    }
+
+    private static int race(Callable<LoginResponse> attempt) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        attempt.call();
+                        return true;
+                    } catch (IllegalArgumentException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int successes = 0;
+            for (Future<Boolean> f : results) {
+                if (f.get()) successes++;
+            }
+            return successes;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.config.RestTemplateConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs DefaultSmsSender against a local stub of the 2Factor API to check timeouts, retries and the circuit breaker.
+ */
+class DefaultSmsSenderTest {
+
+    private HttpServer stub;
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile int failFirst;
+    private volatile int status = 200;
+    private volatile long delayMs;
+
+    private final AuthProperties properties = new AuthProperties();
+
+    @BeforeEach
+    void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/", exchange -> {
+            int n = calls.incrementAndGet();
+            try {
+                if (delayMs > 0) Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            int code = n <= failFirst ? 503 : status;
+            byte[] body = "{\"Status\":\"Success\"}".getBytes();
+            exchange.sendResponseHeaders(code, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        stub.start();
+
+        AuthProperties.Sms sms = properties.getSms();
+        sms.setTwoFactorBaseUrl("http://127.0.0.1:" + stub.getAddress().getPort() + "/API/V1");
+        sms.setTwoFactorApiKey("test-key");
+        sms.setRetryBackoffMs(1);
+        sms.setRetryBackoffMaxMs(5);
+        sms.setReadTimeoutMs(300);
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.stop(0);
+    }
+
+    private DefaultSmsSender sender() {
+        return new DefaultSmsSender(properties, new RestTemplateConfig().smsRestTemplate(properties));
+    }
+
+    @Test
+    void transientFailureIsRetried() {
+        failFirst = 1;
+        DefaultSmsSender sender = sender();
+
+        sender.sendOtp("9876543210", "123456", 10);
+
+        assertEquals(2, calls.get());
+        assertEquals(CircuitBreaker.State.CLOSED, sender.getCircuitState());
+    }
+
+    @Test
+    void hungProviderIsCutOffByReadTimeout() {
+        delayMs = 2_000;
+        properties.getSms().setMaxAttempts(1);
+        DefaultSmsSender sender = sender();
+
+        long start = System.nanoTime();
+        assertThrows(SmsDeliveryException.class, () -> sender.sendOtp("9876543210", "123456", 10));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 1_500, "send took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void circuitOpensAfterConsecutiveFailures() {
+        status = 500;
+        properties.getSms().setMaxAttempts(1);
+        properties.getSms().setBreakerFailureThreshold(3);
+        DefaultSmsSender sender = sender();
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(SmsDeliveryException.class, () -> sender.sendOtp("9876543210", "123456", 10));
+        }
+
+        assertEquals(3, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, sender.getCircuitState());
+    }
+}
@@ -0,0 +1,29 @@
+package com.scube.society_app_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DigestBloomFilterTest {
+
+    @Test
+    void everyAddedDigestIsFoundAndFewOthersAre() {
+        DigestBloomFilter filter = new DigestBloomFilter(10_000, 0.01);
+        List<byte[]> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            byte[] digest = TokenCrypto.sha256("token-" + i);
+            filter.add(digest);
+            added.add(digest);
+        }
+
+        added.forEach(digest -> assertTrue(filter.mightContain(digest)));
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(TokenCrypto.sha256("other-" + i))) falsePositives++;
+        }
+        assertTrue(falsePositives < 1_000, "false positives: " + falsePositives);
+    }
+}
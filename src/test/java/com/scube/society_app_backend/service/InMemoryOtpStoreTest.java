@@ -0,0 +1,64 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class InMemoryOtpStoreTest {
+
+    private final InMemoryOtpStore store =
+            new InMemoryOtpStore(mock(OtpAuditWriter.class), new AuthProperties());
+
+    @Test
+    void codeCanBeConsumedOnlyOnce() {
+        Instant now = Instant.now();
+        store.save(919876543210L, "123456", now.plusSeconds(600));
+
+        assertFalse(store.consume(919876543210L, "000000", now));
+        assertTrue(store.consume(919876543210L, "123456", now));
+        assertFalse(store.consume(919876543210L, "123456", now));
+    }
+
+    @Test
+    void expiredCodeIsRejectedAndEvicted() {
+        Instant now = Instant.now();
+        store.save(919876543210L, "123456", now.minusSeconds(1));
+
+        assertFalse(store.consume(919876543210L, "123456", now));
+        store.evictExpired();
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void concurrentConsumeSucceedsExactlyOnce() throws Exception {
+        Instant now = Instant.now();
+        store.save(919876543210L, "123456", now.plusSeconds(600));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                tasks.add(() -> store.consume(919876543210L, "123456", now));
+            }
+            int successes = 0;
+            for (Future<Boolean> f : pool.invokeAll(tasks)) {
+                if (f.get()) successes++;
+            }
+            assertEquals(1, successes);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
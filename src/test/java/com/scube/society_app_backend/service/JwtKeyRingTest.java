@@ -0,0 +1,86 @@
+package com.scube.society_app_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scube.society_app_backend.config.AuthProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtKeyRingTest {
+
+    private final KeyPair oldPair = Jwts.SIG.ES256.keyPair().build();
+    private final KeyPair newPair = Jwts.SIG.ES256.keyPair().build();
+
+    @Test
+    void tokensSignedBeforeRotationStillVerify() {
+        JwtService before = service("ES256", "k1", key("k1", oldPair), key("k2", newPair));
+        JwtService after = service("ES256", "k2", key("k1", oldPair), key("k2", newPair));
+        UUID userId = UUID.randomUUID();
+
+        String oldToken = before.issueAccessToken(userId);
+        String newToken = after.issueAccessToken(userId);
+
+        assertEquals(userId, after.validateAccessToken(oldToken));
+        assertEquals(userId, before.validateAccessToken(newToken));
+        assertEquals("k2", Jwts.parser().verifyWith(newPair.getPublic()).build()
+                .parseSignedClaims(newToken).getHeader().getKeyId());
+    }
+
+    @Test
+    void tokensFromRemovedOrUnknownKeysAreRejected() {
+        String oldToken = service("ES256", "k1", key("k1", oldPair)).issueAccessToken(UUID.randomUUID());
+        String hmacToken = new JwtService(new AuthProperties()).issueAccessToken(UUID.randomUUID());
+        JwtService rotated = service("ES256", "k2", key("k2", newPair));
+
+        assertThrows(Exception.class, () -> rotated.validateAccessToken(oldToken));
+        assertThrows(Exception.class, () -> rotated.validateAccessToken(hmacToken));
+    }
+
+    @Test
+    void eddsaKeysSignAndVerify() {
+        KeyPair pair = Jwks.CRV.Ed25519.keyPair().build();
+        JwtService service = service("EdDSA", "ed1", key("ed1", pair));
+        UUID userId = UUID.randomUUID();
+
+        assertEquals(userId, service.validateAccessToken(service.issueAccessToken(userId)));
+    }
+
+    @Test
+    void jwksListsEveryVerificationKeyWithoutPrivateParts() throws Exception {
+        JwtService service = service("ES256", "k2", key("k1", oldPair), key("k2", newPair));
+
+        String json = new ObjectMapper().writeValueAsString(service.getKeyRing().getPublicJwks());
+
+        assertEquals(2, service.getKeyRing().getPublicJwks().size());
+        assertTrue(json.contains("\"kid\":\"k1\"") && json.contains("\"kid\":\"k2\""), json);
+        assertTrue(json.contains("\"crv\":\"P-256\"") && json.contains("\"use\":\"sig\""), json);
+        assertTrue(!json.contains("\"d\""), json);
+    }
+
+    private static JwtService service(String algorithm, String activeKid, AuthProperties.JwtKey... keys) {
+        AuthProperties properties = new AuthProperties();
+        properties.getJwt().setAlgorithm(algorithm);
+        properties.getJwt().setActiveKid(activeKid);
+        properties.getJwt().setKeys(List.of(keys));
+        return new JwtService(properties);
+    }
+
+    private static AuthProperties.JwtKey key(String kid, KeyPair pair) {
+        AuthProperties.JwtKey key = new AuthProperties.JwtKey();
+        key.setKid(kid);
+        key.setPrivateKey(Base64.getEncoder().encodeToString(pair.getPrivate().getEncoded()));
+        key.setPublicKey("-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder().encodeToString(pair.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----");
+        return key;
+    }
+}
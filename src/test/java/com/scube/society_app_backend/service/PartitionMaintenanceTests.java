@@ -0,0 +1,48 @@
+package com.scube.society_app_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "app.auth.retention.enabled=false")
+class PartitionMaintenanceTests {
+
+    @Autowired
+    private PartitionMaintenance partitions;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void createsUpcomingPartitionsWithRetentionDisabled() {
+        partitions.ensurePartitions();
+
+        String last = "otp_verifications_" + YearMonth.now(ZoneOffset.UTC).plusMonths(2).toString().replace("-", "");
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM pg_class WHERE relname = ?", Integer.class, last));
+        assertEquals(0, partitions.getMissingPartitions());
+    }
+
+    @Test
+    void reportsADetachedNextMonth() {
+        partitions.ensurePartitions();
+        YearMonth next = YearMonth.now(ZoneOffset.UTC).plusMonths(1);
+        String partition = "auth_events_" + next.toString().replace("-", "");
+        jdbcTemplate.execute("ALTER TABLE auth_events DETACH PARTITION " + partition);
+        try {
+            // The detached table still holds the name, so it can't be recreated
+            partitions.ensurePartitions();
+            assertEquals(1, partitions.getMissingPartitions());
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE auth_events ATTACH PARTITION " + partition + " FOR VALUES FROM ('"
+                    + next.atDay(1) + "') TO ('" + next.plusMonths(1).atDay(1) + "')");
+        }
+        partitions.ensurePartitions();
+        assertEquals(0, partitions.getMissingPartitions());
+    }
+}
@@ -0,0 +1,51 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.dto.UserResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "app.auth.profile-cache.invalidation=pg-notify")
+class PgNotifyProfileInvalidationBusTests {
+
+    @Autowired
+    private UserProfileCache profileCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private AuthProperties authProperties;
+
+    @Test
+    void changeOnAnotherNodeEvictsLocalEntry() throws Exception {
+        UUID userId = UUID.randomUUID();
+        profileCache.getOrLoad(userId, id -> Optional.of(new UserResponse(id.toString(), "919876543210", "")));
+        int before = profileCache.size();
+
+        PgNotifyProfileInvalidationBus otherNode =
+                new PgNotifyProfileInvalidationBus(jdbcTemplate, dataSourceProperties, authProperties);
+        try {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (profileCache.size() == before && System.currentTimeMillis() < deadline) {
+                otherNode.publish(userId);
+                Thread.sleep(200);
+            }
+        } finally {
+            otherNode.shutdown();
+        }
+
+        assertEquals(before - 1, profileCache.size());
+    }
+}
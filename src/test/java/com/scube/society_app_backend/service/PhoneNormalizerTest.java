@@ -0,0 +1,37 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PhoneNormalizerTest {
+
+    private final PhoneNormalizer normalizer = new PhoneNormalizer(new AuthProperties());
+
+    @Test
+    void spellingsOfOneNumberShareAKey() {
+        for (String raw : new String[] {"919876543210", "+91 98765 43210", "9876543210", "98765-43210",
+                "098765 43210", "0091 9876543210", " +91 (98765) 43210 "}) {
+            assertEquals(919876543210L, normalizer.toKey(raw), raw);
+        }
+        assertEquals("919876543210", normalizer.normalize("+91 98765 43210"));
+    }
+
+    @Test
+    void otherCountriesNeedTheirCountryCode() {
+        assertEquals(14155552671L, normalizer.toKey("+1 415 555 2671"));
+        assertEquals(14155552671L, normalizer.toKey("0014155552671"));
+        assertEquals(447911123456L, normalizer.toKey("447911123456"));
+    }
+
+    @Test
+    void nonNumbersAreRejected() {
+        for (String raw : new String[] {null, "", "   ", "12345", "98765x43210", "+0919876543210", "1234567890123456",
+                "98+7654321", "0987654321", "000919876543210"}) {
+            assertEquals(PhoneNormalizer.INVALID, normalizer.toKey(raw), String.valueOf(raw));
+        }
+        assertNull(normalizer.normalize("not a phone"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.scube.society_app_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ReadinessMonitorTests {
+
+    @Autowired
+    private ReadinessMonitor readinessMonitor;
+
+    @Test
+    void readyWhenDatabaseIsReachable() {
+        ReadinessMonitor.Snapshot snapshot = readinessMonitor.refresh();
+
+        assertTrue(snapshot.ready());
+        assertNull(snapshot.reason());
+        assertTrue(snapshot.dbUp());
+        assertTrue(snapshot.poolMax() > 0);
+        assertEquals("CLOSED", snapshot.smsCircuit());
+    }
+
+    @Test
+    void probeReadsPublishedSnapshotWithoutRecheck() {
+        ReadinessMonitor.Snapshot refreshed = readinessMonitor.refresh();
+
+        ReadinessMonitor.Snapshot current = readinessMonitor.current();
+
+        assertTrue(current.ready());
+        assertTrue(!current.checkedAt().isBefore(refreshed.checkedAt()));
+    }
+}
@@ -0,0 +1,197 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenFilterTest {
+
+    private final AuthProperties properties = new AuthProperties();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final JwtService jwtService = new JwtService(properties);
+    private final RefreshTokenFilter filter = new RefreshTokenFilter(jdbcTemplate, jwtService, properties);
+    /** Bind values of each incremental (id >= ?) query. */
+    private final List<Object[]> incrementalArgs = new ArrayList<>();
+
+    @Test
+    void everythingGoesToTheDbUntilTheFirstLoad() {
+        String unknown = token(Instant.now().minusSeconds(3600));
+
+        assertTrue(filter.mightBeLive(unknown, JwtService.hashRefreshToken(unknown)));
+        assertEquals(1, filter.getNotCovered());
+    }
+
+    @Test
+    void unknownTokenIssuedBeforeCoverageIsRejected() throws Exception {
+        String live = token(Instant.now().minusSeconds(120));
+        String unknown = token(Instant.now().minusSeconds(120));
+        loadOnSync(live);
+
+        filter.sync();
+
+        assertTrue(filter.mightBeLive(live, JwtService.hashRefreshToken(live)));
+        assertFalse(filter.mightBeLive(unknown, JwtService.hashRefreshToken(unknown)));
+        assertEquals(1, filter.getPassed());
+        assertEquals(1, filter.getRejected());
+        assertEquals(1, filter.getLoadedTokens());
+    }
+
+    @Test
+    void recentAndLegacyTokensAreNotJudged() throws Exception {
+        loadOnSync();
+        filter.sync();
+
+        String recent = token(Instant.now());
+        String legacy = legacyToken();
+
+        assertTrue(filter.mightBeLive(recent, JwtService.hashRefreshToken(recent)));
+        assertTrue(filter.mightBeLive(legacy, JwtService.hashRefreshToken(legacy)));
+        assertEquals(2, filter.getNotCovered());
+    }
+
+    @Test
+    void malformedTokensAreRejectedWithoutALoad() {
+        String valid = token(Instant.now().minusSeconds(120));
+        String wrongLength = valid.substring(1);
+        String nonHex = valid.substring(0, valid.length() - 1) + "g";
+        String nonHexLegacy = "z" + TokenCrypto.toHex(TokenCrypto.randomBytes(32)).substring(1);
+
+        assertFalse(filter.mightBeLive(wrongLength, JwtService.hashRefreshToken(wrongLength)));
+        assertFalse(filter.mightBeLive(nonHex, JwtService.hashRefreshToken(nonHex)));
+        assertFalse(filter.mightBeLive(nonHexLegacy, JwtService.hashRefreshToken(nonHexLegacy)));
+        assertEquals(3, filter.getRejected());
+    }
+
+    @Test
+    void tokenIssuedBeyondTheSyncOverlapIsRejected() {
+        long overlapSeconds = properties.getRefreshFilter().getSyncOverlapMs() / 1000;
+        String skewed = token(Instant.now().plusSeconds(overlapSeconds / 2));
+        String future = token(Instant.now().plusSeconds(overlapSeconds + 60));
+
+        assertTrue(filter.mightBeLive(skewed, JwtService.hashRefreshToken(skewed)));
+        assertFalse(filter.mightBeLive(future, JwtService.hashRefreshToken(future)));
+        assertEquals(1, filter.getNotCovered());
+        assertEquals(1, filter.getRejected());
+    }
+
+    @Test
+    void forgedIssueTimeIsRejected() {
+        String valid = token(Instant.now().minusSeconds(120));
+        String recentPrefix = String.format("%08x", Instant.now().getEpochSecond()) + valid.substring(8);
+        AuthProperties otherSecret = new AuthProperties();
+        otherSecret.getJwt().setRefreshTokenMacSecret("another-secret");
+        String foreign = new JwtService(otherSecret).createRefreshToken().rawToken();
+
+        assertFalse(filter.mightBeLive(recentPrefix, JwtService.hashRefreshToken(recentPrefix)));
+        assertFalse(filter.mightBeLive(foreign, JwtService.hashRefreshToken(foreign)));
+        assertEquals(2, filter.getRejected());
+    }
+
+    @Test
+    void tokenPastTheRefreshTtlIsRejected() {
+        String expired = token(Instant.now().minus(jwtService.getRefreshTtl()).minusSeconds(60));
+
+        assertFalse(filter.mightBeLive(expired, JwtService.hashRefreshToken(expired)));
+        assertEquals(1, filter.getRejected());
+    }
+
+    @Test
+    void legacyTokensAreJudgedOnceCovered() throws Exception {
+        properties.getRefreshFilter().setLegacyIssuedUntil(Instant.now().minusSeconds(3600).toString());
+        RefreshTokenFilter legacyAware = new RefreshTokenFilter(jdbcTemplate, jwtService, properties);
+        String live = legacyToken();
+        String unknown = legacyToken();
+        loadOnSync(live);
+
+        assertTrue(legacyAware.mightBeLive(unknown, JwtService.hashRefreshToken(unknown)));
+        legacyAware.sync();
+
+        assertTrue(legacyAware.mightBeLive(live, JwtService.hashRefreshToken(live)));
+        assertFalse(legacyAware.mightBeLive(unknown, JwtService.hashRefreshToken(unknown)));
+    }
+
+    @Test
+    void legacyTokensAreRejectedARefreshTtlAfterTheRollout() {
+        properties.getRefreshFilter().setLegacyIssuedUntil(
+                Instant.now().minus(jwtService.getRefreshTtl()).minusSeconds(60).toString());
+        RefreshTokenFilter legacyExpired = new RefreshTokenFilter(jdbcTemplate, jwtService, properties);
+        String legacy = legacyToken();
+
+        assertFalse(legacyExpired.mightBeLive(legacy, JwtService.hashRefreshToken(legacy)));
+        assertEquals(1, legacyExpired.getRejected());
+    }
+
+    @Test
+    void incrementalSyncAddsTokensCreatedSinceTheCoveragePoint() throws Exception {
+        String live = token(Instant.now().minusSeconds(120));
+        String addedElsewhere = token(Instant.now().minusSeconds(120));
+        String unknown = token(Instant.now().minusSeconds(120));
+        loadOnSync(live);
+        filter.sync();
+        assertFalse(filter.mightBeLive(addedElsewhere, JwtService.hashRefreshToken(addedElsewhere)));
+
+        loadIncrementally(addedElsewhere);
+        filter.sync();
+
+        assertEquals(1, incrementalArgs.size());
+        long since = ((Timestamp) incrementalArgs.get(0)[1]).getTime();
+        assertEquals(new UUID(since << 16, 0), incrementalArgs.get(0)[0]);
+        assertTrue(filter.mightBeLive(live, JwtService.hashRefreshToken(live)));
+        assertTrue(filter.mightBeLive(addedElsewhere, JwtService.hashRefreshToken(addedElsewhere)));
+        assertFalse(filter.mightBeLive(unknown, JwtService.hashRefreshToken(unknown)));
+        assertEquals(1, filter.getLoadedTokens());
+    }
+
+    /** Raw token as JwtService issues it, with the given issue time. */
+    private String token(Instant issuedAt) {
+        return jwtService.createRefreshToken(issuedAt).rawToken();
+    }
+
+    /** Raw token as issued before the issue-time prefix. */
+    private static String legacyToken() {
+        return TokenCrypto.toHex(TokenCrypto.randomBytes(32));
+    }
+
+    /** Full rebuilds return liveTokens. */
+    private void loadOnSync(String... liveTokens) throws Exception {
+        doAnswer(invocation -> rows(invocation.getArgument(1), liveTokens))
+                .when(jdbcTemplate).query(argThat(sql -> !sql.contains("id >= ?")), any(RowCallbackHandler.class),
+                        any(Object[].class));
+    }
+
+    /** Incremental syncs return newTokens and record their bind values. */
+    private void loadIncrementally(String... newTokens) throws Exception {
+        doAnswer(invocation -> {
+            incrementalArgs.add((Object[]) invocation.getRawArguments()[2]);
+            return rows(invocation.getArgument(1), newTokens);
+        }).when(jdbcTemplate).query(argThat(sql -> sql.contains("id >= ?")), any(RowCallbackHandler.class),
+                any(Object[].class));
+    }
+
+    private static Object rows(RowCallbackHandler handler, String... tokens) throws Exception {
+        for (String raw : tokens) {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getBytes(1)).thenReturn(JwtService.hashRefreshToken(raw));
+            handler.processRow(rs);
+        }
+        return null;
+    }
+}
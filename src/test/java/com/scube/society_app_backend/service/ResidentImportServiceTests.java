@@ -0,0 +1,95 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.dto.ResidentImportReport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "app.admin.import-batch-size=2")
+class ResidentImportServiceTests {
+
+    @Autowired
+    private ResidentImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserProfileCache profileCache;
+
+    @Test
+    void csvImportUpsertsInBatchesAndReportsBadRows() {
+        String p = phonePrefix();
+        String csv = "phone,name\n"
+                + "+" + p + "01,\"Sharma, Asha\"\n"
+                + p + "02,Ravi\n"
+                + "12ab,Nobody\n"
+                + p + "03,\n"
+                + p + "02,Ravi K\n";
+
+        ResidentImportReport report = importService.importCsv(stream(csv));
+
+        assertEquals(5, report.rows());
+        assertEquals(3, report.inserted());
+        assertEquals(1, report.updated());
+        assertEquals(1, report.failed());
+        assertEquals(4, report.errors().get(0).line());
+        assertNull(report.aborted());
+        assertEquals("Sharma, Asha", name(p + "01"));
+        assertEquals("Ravi K", name(p + "02"));
+    }
+
+    @Test
+    void reimportOnlyRenamesWhenTheNameChanges() {
+        String p = phonePrefix();
+        importService.importCsv(stream(p + "01,Asha\n" + p + "02,Ravi\n"));
+
+        ResidentImportReport report = importService.importJson(stream(
+                "[{\"phone\":\"" + p + "01\",\"first_name\":\"Asha\",\"last_name\":\"Rao\"},"
+                        + "{\"phone\":\"" + p + "02\",\"name\":\"\"}]"));
+
+        assertEquals(0, report.inserted());
+        assertEquals(1, report.updated());
+        assertEquals(1, report.unchanged());
+        assertEquals("Asha Rao", name(p + "01"));
+        assertEquals("Ravi", name(p + "02"));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT profile_version FROM users WHERE phone = ?", Integer.class, p + "01"));
+        UUID renamed = jdbcTemplate.queryForObject("SELECT id FROM users WHERE phone = ?", UUID.class, p + "01");
+        assertTrue(profileCache.isStale(renamed, 0));
+        assertEquals("Asha Rao", profileCache.getOrLoad(renamed, id -> Optional.empty()).orElseThrow().name());
+    }
+
+    @Test
+    void malformedJsonAbortsAfterCommittedRows() {
+        String p = phonePrefix();
+        ResidentImportReport report = importService.importJson(stream("[{\"phone\":\"" + p + "01\"}, {\"phone\":"));
+
+        assertEquals(1, report.inserted());
+        assertEquals("", name(p + "01"));
+        assertTrue(report.aborted().startsWith("invalid JSON"));
+    }
+
+    private String name(String phone) {
+        return jdbcTemplate.queryForObject("SELECT name FROM users WHERE phone = ?", String.class, phone);
+    }
+
+    private static String phonePrefix() {
+        return "7" + ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_999_999_999L);
+    }
+
+    private static ByteArrayInputStream stream(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,57 @@
+package com.scube.society_app_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class RetentionServiceTests {
+
+    @Autowired
+    private RetentionService retentionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void purgesExpiredRowsAndKeepsLiveOnes() {
+        String phone = "retention-" + UUID.randomUUID();
+        // Created now (the current month's partition must stay), expired long ago
+        jdbcTemplate.update("INSERT INTO otp_verifications (phone, code, expires_at)"
+                + " VALUES (?, '111111', now() - interval '30 days')", phone);
+        jdbcTemplate.update("INSERT INTO otp_verifications (phone, code, expires_at)"
+                + " VALUES (?, '222222', now() + interval '10 minutes')", phone);
+
+        RetentionService.RunResult result = retentionService.purge();
+
+        assertTrue(result.otpRowsPurged() >= 1);
+        Integer remaining = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM otp_verifications WHERE phone = ?", Integer.class, phone);
+        assertEquals(1, remaining);
+    }
+
+    @Test
+    void dropsAuthEventPartitionsPastRetention() {
+        jdbcTemplate.queryForObject("SELECT ensure_monthly_partition('auth_events', '2019-01-01')::text", String.class);
+
+        retentionService.purge();
+
+        Integer exists = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_class WHERE relname = 'auth_events_201901'", Integer.class);
+        assertEquals(0, exists);
+    }
+
+    @Test
+    void parsesPartitionNames() {
+        assertEquals(YearMonth.of(2026, 3), RetentionService.partitionMonth("refresh_tokens", "refresh_tokens_202603"));
+        assertNull(RetentionService.partitionMonth("refresh_tokens", "refresh_tokens_default"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenCryptoTest {
+
+    @Test
+    void hexMatchesJdkFormatting() {
+        byte[] bytes = TokenCrypto.randomBytes(64);
+        assertEquals(HexFormat.of().formatHex(bytes), TokenCrypto.toHex(bytes));
+    }
+
+    @Test
+    void refreshTokenHashIsStable() {
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                TokenCrypto.toHex(JwtService.hashRefreshToken("abc")));
+        assertArrayEquals(JwtService.hashRefreshToken("abc"), JwtService.hashRefreshToken("abc"));
+    }
+
+    @Test
+    void refreshTokenCarriesItsAuthenticatedIssueTime() {
+        long before = Instant.now().getEpochSecond();
+        JwtService jwtService = new JwtService(new AuthProperties());
+        String raw = jwtService.createRefreshToken().rawToken();
+
+        long issuedAt = JwtService.refreshTokenIssuedAt(raw);
+        assertTrue(issuedAt >= before && issuedAt <= Instant.now().getEpochSecond());
+        assertTrue(jwtService.hasAuthenticIssueTime(raw));
+        assertFalse(jwtService.hasAuthenticIssueTime(String.format("%08x", issuedAt + 1) + raw.substring(8)));
+        assertEquals(-1, JwtService.refreshTokenIssuedAt(TokenCrypto.toHex(TokenCrypto.randomBytes(32))));
+        assertEquals(-1, JwtService.refreshTokenIssuedAt("zz" + raw.substring(2)));
+    }
+}
@@ -0,0 +1,68 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class TokenRevocationServiceTest {
+
+    private final AuthProperties properties = new AuthProperties();
+    private final JwtService jwtService = new JwtService(properties);
+    private final TokenRevocationService revocations = new TokenRevocationService(mock(JdbcTemplate.class), properties);
+
+    @Test
+    void loggedOutTokenIsRejectedAndOthersAreNot() {
+        UUID userId = UUID.randomUUID();
+        JwtService.VerifiedAccessToken loggedOut = jwtService.verifyAccessToken(jwtService.issueAccessToken(userId));
+        JwtService.VerifiedAccessToken other = jwtService.verifyAccessToken(jwtService.issueAccessToken(userId));
+
+        revocations.revokeToken(loggedOut);
+
+        assertTrue(revocations.isRevoked(loggedOut));
+        assertFalse(revocations.isRevoked(other));
+        assertEquals(1, revocations.getRejected());
+    }
+
+    @Test
+    void signOutAllRejectsTokensIssuedBeforeIt() {
+        UUID userId = UUID.randomUUID();
+        Instant now = Instant.now();
+        JwtService.VerifiedAccessToken before = token(userId, now.minusSeconds(60));
+        JwtService.VerifiedAccessToken after = token(userId, now.plusSeconds(1));
+
+        revocations.revokeAllForUser(userId, now);
+
+        assertTrue(revocations.isRevoked(before));
+        assertFalse(revocations.isRevoked(after));
+        assertFalse(revocations.isRevoked(token(UUID.randomUUID(), now.minusSeconds(60))));
+    }
+
+    @Test
+    void entriesAreDroppedOnceTheirTokensHaveExpired() {
+        UUID userId = UUID.randomUUID();
+        revocations.revokeToken(jwtService.verifyAccessToken(jwtService.issueAccessToken(userId)));
+        revocations.revokeAllForUser(userId, Instant.now());
+
+        revocations.evictExpired(System.currentTimeMillis());
+        assertEquals(1, revocations.getRevokedTokenCount());
+        assertEquals(1, revocations.getRevokedUserCount());
+
+        long afterAccessTtl = Instant.now().plusSeconds(jwtService.getAccessTtlSeconds() + 1).toEpochMilli();
+        revocations.evictExpired(afterAccessTtl);
+        assertEquals(0, revocations.getRevokedTokenCount());
+        assertEquals(0, revocations.getRevokedUserCount());
+    }
+
+    private static JwtService.VerifiedAccessToken token(UUID userId, Instant issuedAt) {
+        return new JwtService.VerifiedAccessToken(userId, issuedAt.plusSeconds(900), null,
+                UUID.randomUUID().toString(), issuedAt);
+    }
+}
@@ -0,0 +1,116 @@
+package com.scube.society_app_backend.service;
+
+import com.scube.society_app_backend.config.AuthProperties;
+import com.scube.society_app_backend.dto.UserResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserProfileCacheTest {
+
+    private final AuthProperties properties = new AuthProperties();
+    private final RecordingBus bus = new RecordingBus();
+
+    @Test
+    void secondLookupIsServedFromCache() {
+        UserProfileCache cache = new UserProfileCache(properties, bus);
+        UUID userId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++) {
+            cache.getOrLoad(userId, id -> {
+                loads.incrementAndGet();
+                return Optional.of(user(id, "A"));
+            });
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(3, cache.getHits());
+        assertEquals(0.75, cache.getHitRatio());
+    }
+
+    @Test
+    void writeThroughReplacesEntryAndNotifiesOtherNodes() {
+        UserProfileCache cache = new UserProfileCache(properties, bus);
+        UUID userId = UUID.randomUUID();
+        cache.getOrLoad(userId, id -> Optional.of(user(id, "")));
+
+        cache.writeThrough(userId, user(userId, "A B"), 1);
+
+        assertEquals("A B", cache.getOrLoad(userId, id -> Optional.empty()).orElseThrow().name());
+        assertEquals(List.of(userId), bus.published);
+    }
+
+    @Test
+    void remoteInvalidationEvictsAndUnknownUsersAreNotCached() {
+        UserProfileCache cache = new UserProfileCache(properties, bus);
+        UUID userId = UUID.randomUUID();
+        cache.getOrLoad(userId, id -> Optional.of(user(id, "A")));
+
+        bus.listener.accept(userId);
+        cache.getOrLoad(UUID.randomUUID(), id -> Optional.empty());
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void olderProfileVersionsAreStaleAfterUpdate() {
+        UserProfileCache cache = new UserProfileCache(properties, bus);
+        UUID updated = UUID.randomUUID();
+        UUID changedElsewhere = UUID.randomUUID();
+
+        cache.writeThrough(updated, user(updated, "A B"), 2);
+        bus.listener.accept(changedElsewhere);
+
+        assertTrue(cache.isStale(updated, 1));
+        assertFalse(cache.isStale(updated, 2));
+        assertTrue(cache.isStale(changedElsewhere, 5));
+        assertFalse(cache.isStale(UUID.randomUUID(), 0));
+    }
+
+    @Test
+    void profileClaimsRequireCrossNodeInvalidation() {
+        properties.getJwt().setProfileClaims(true);
+        assertThrows(IllegalStateException.class, () -> new UserProfileCache(properties, bus));
+
+        properties.getProfileCache().setInvalidation("pg-notify");
+        new UserProfileCache(properties, bus);
+    }
+
+    @Test
+    void sizeIsBounded() {
+        properties.getProfileCache().setMaxEntries(2);
+        UserProfileCache cache = new UserProfileCache(properties, bus);
+
+        for (int i = 0; i < 5; i++) {
+            cache.getOrLoad(UUID.randomUUID(), id -> Optional.of(user(id, "")));
+        }
+
+        assertTrue(cache.size() <= 2);
+    }
+
+    private static UserResponse user(UUID id, String name) {
+        return new UserResponse(id.toString(), "919876543210", name);
+    }
+
+    private static class RecordingBus implements ProfileInvalidationBus {
+        final List<UUID> published = new ArrayList<>();
+        Consumer<UUID> listener;
+
+        @Override
+        public void publish(UUID userId) { published.add(userId); }
+
+        @Override
+        public void subscribe(Consumer<UUID> listener) { this.listener = listener; }
+    }
+}